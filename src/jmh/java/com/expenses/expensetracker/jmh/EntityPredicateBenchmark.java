@@ -0,0 +1,171 @@
+package com.expenses.expensetracker.jmh;
+
+import com.expenses.expensetracker.entity.ApprovalRule;
+import com.expenses.expensetracker.entity.ApprovalStage;
+import com.expenses.expensetracker.entity.ApprovalStep;
+import com.expenses.expensetracker.entity.ApproverConfig;
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity predicates evaluated on every approval and inbox request. Run with the gc profiler
+ * ({@code -prof gc}, as the jmh profile does) and watch gc.alloc.rate.norm: these should not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityPredicateBenchmark {
+
+    private static final ExpenseStatus[] STATUSES = ExpenseStatus.values();
+
+    private ApprovalRule percentageRule;
+    private ApprovalRule hybridRule;
+    private ApproverConfig managerConfig;
+    private Expense partlyApproved;
+    private Expense cfoApproved;
+    private User manager;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        Company company = new Company();
+        company.setId(1L);
+        company.setName("Benchmark Co");
+        company.setDefaultCurrency("INR");
+
+        User cfo = user(1L, company, Role.createAdminRole(), null);
+        manager = user(2L, company, Role.createManagerRole(), cfo);
+        User employee = user(3L, company, Role.createEmployeeRole(), manager);
+        User finance = user(4L, company, Role.createManagerRole(), cfo);
+
+        percentageRule = rule(company, cfo, false, true);
+        hybridRule = rule(company, cfo, true, false);
+
+        managerConfig = new ApproverConfig();
+        managerConfig.setApprovalRule(percentageRule);
+        managerConfig.setApprover(manager);
+        managerConfig.setSequence(1);
+        managerConfig.setManagerStep(true);
+        managerConfig.setMinAmount(BigDecimal.valueOf(100));
+
+        // Manager approved, finance and director pending: 33%, below the rules' 60%, so the CFO check runs
+        partlyApproved = expense(employee, company);
+        step(partlyApproved, manager, ApprovalStage.MANAGER).approve("ok");
+        step(partlyApproved, finance, ApprovalStage.FINANCE).markPending();
+        step(partlyApproved, cfo, ApprovalStage.DIRECTOR).setStatus(ApprovalStep.ApprovalStepStatus.WAITING);
+
+        cfoApproved = expense(employee, company);
+        step(cfoApproved, manager, ApprovalStage.MANAGER).approve("ok");
+        step(cfoApproved, cfo, null).approve("CFO sign-off");
+
+        amount = partlyApproved.getAmount();
+    }
+
+    @Benchmark
+    public boolean ruleApplicableForAmount() {
+        return percentageRule.isApplicableForAmount(amount);
+    }
+
+    @Benchmark
+    public boolean ruleApprovedWalksSteps() {
+        return percentageRule.isApproved(partlyApproved);
+    }
+
+    @Benchmark
+    public boolean hybridRuleApprovedByCfo() {
+        return hybridRule.isApproved(cfoApproved);
+    }
+
+    @Benchmark
+    public boolean approverConfigRequired() {
+        return managerConfig.isRequiredForExpense(partlyApproved);
+    }
+
+    @Benchmark
+    public boolean userHasRole() {
+        return manager.hasRole("MANAGER");
+    }
+
+    @Benchmark
+    public boolean userCanApproveExpense() {
+        return manager.canApproveExpense();
+    }
+
+    @Benchmark
+    public void expenseStatusPredicates(Blackhole blackhole) {
+        for (ExpenseStatus status : STATUSES) {
+            blackhole.consume(status.isTerminalState());
+            blackhole.consume(status.requiresAction());
+            blackhole.consume(status.isApproved());
+            blackhole.consume(status.isAwaitingApproval());
+            blackhole.consume(status.canBeEdited());
+        }
+    }
+
+    private static User user(Long id, Company company, Role role, User manager) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@benchmark.local");
+        user.setCompany(company);
+        user.setManager(manager);
+        user.setRoles(new HashSet<>(List.of(role)));
+        return user;
+    }
+
+    private static ApprovalRule rule(Company company, User cfo, boolean hybrid, boolean percentageOrCfo) {
+        ApprovalRule rule = new ApprovalRule();
+        rule.setCompany(company);
+        rule.setMinAmount(BigDecimal.valueOf(1000));
+        rule.setMaxAmount(BigDecimal.valueOf(100000));
+        rule.setRequiredPercentage(60);
+        rule.setCfoApprover(cfo);
+        rule.setHybrid(hybrid);
+        rule.setPercentageOrCfo(percentageOrCfo);
+        return rule;
+    }
+
+    private static Expense expense(User submitter, Company company) {
+        Expense expense = new Expense();
+        expense.setAmount(BigDecimal.valueOf(5000));
+        expense.setCurrency("INR");
+        expense.setCategory("Travel");
+        expense.setDate(LocalDate.of(2025, 1, 15));
+        expense.setSubmitter(submitter);
+        expense.setCompany(company);
+        expense.setStatus(ExpenseStatus.PENDING_FINANCE);
+        return expense;
+    }
+
+    private static ApprovalStep step(Expense expense, User approver, ApprovalStage stage) {
+        ApprovalStep step = new ApprovalStep();
+        step.setApprover(approver);
+        step.setStage(stage);
+        expense.addStep(step);
+        expense.getApprovalSteps().add(step);
+        return step;
+    }
+}
@@ -0,0 +1,73 @@
+package com.expenses.expensetracker.jmh;
+
+import com.expenses.expensetracker.dto.ExpenseOcrResult;
+import com.expenses.expensetracker.service.impl.OcrServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OcrServiceImpl.processReceipt with the OCR API answered in memory: encoding the receipt into the request
+ * and parsing the recognised text, without the network round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OcrParsingBenchmark {
+
+    private static final String RECEIPT_TEXT = """
+        TAJ HOTEL MUMBAI
+        Apollo Bunder, Mumbai 400001
+        Date: 2025-01-15
+        Room charge 2 nights        12,000.00
+        Restaurant                   2,450.00
+        GST 18%                      2,601.00
+        TOTAL                       17,051.00
+        Paid by card **** 4242
+        """;
+
+    @Param({"65536", "1048576"})
+    private int receiptBytes;
+
+    private OcrServiceImpl ocrService;
+    private byte[] receipt;
+
+    @Setup
+    public void setUp() {
+        ResponseEntity<Map> response = ResponseEntity.ok(Map.of("text", RECEIPT_TEXT));
+        ocrService = new OcrServiceImpl(new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+                                                  Class<T> responseType, Object... uriVariables) {
+                return (ResponseEntity<T>) response;
+            }
+        });
+        receipt = new byte[receiptBytes];
+        new Random(42).nextBytes(receipt);
+    }
+
+    @Benchmark
+    public ExpenseOcrResult processReceipt() {
+        return ocrService.processReceipt(receipt);
+    }
+}
@@ -1,28 +1,89 @@
 package com.expenses.expensetracker.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        // Define cache names for different data types
-        cacheManager.setCacheNames(java.util.Arrays.asList(
-            "userExpenses",
-            "teamExpenses",
-            "recentExpenses",
-            "expenseCount",
-            "pendingApprovals",
-            "userRoles",
-            "currencies"
-        ));
+    public CacheManager cacheManager(CacheProperties properties, ObjectProvider<NamedCacheLoader> loaders,
+                                     ObjectProvider<CacheMetricsRegistrar> cacheMetrics) {
+        // Caches registered below get hit/miss/eviction meters when the context starts; caches created on
+        // demand later are bound the same way (same tags) as they appear
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache createCaffeineCache(String name) {
+                Cache cache = super.createCaffeineCache(name);
+                cacheMetrics.ifAvailable(registrar -> registrar.bindCacheToRegistry(cache, Tag.of("cache.manager", "cacheManager")));
+                return cache;
+            }
+        };
+        // Caches not listed under app.cache.specs are still created on demand, with the defaults
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+
+        Map<String, NamedCacheLoader> loadersByCache = loaders.orderedStream()
+            .collect(Collectors.toMap(NamedCacheLoader::cacheName, Function.identity()));
+
+        properties.getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = builder(spec);
+            if (spec.getRefreshAfterWrite() != null) {
+                NamedCacheLoader loader = loadersByCache.get(name);
+                if (loader == null) {
+                    throw new IllegalStateException("Cache '" + name + "' sets refresh-after-write but has no loader");
+                }
+                cacheManager.registerCustomCache(name, builder.refreshAfterWrite(spec.getRefreshAfterWrite()).build(loader));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
         return cacheManager;
     }
+
+    private Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(weigher(spec.getWeigher()));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    private Weigher<Object, Object> weigher(CacheProperties.Weigher weigher) {
+        if (weigher == CacheProperties.Weigher.COLLECTION_SIZE) {
+            return (key, value) -> {
+                if (value instanceof Collection<?> collection) {
+                    return Math.max(1, collection.size());
+                }
+                if (value instanceof Map<?, ?> map) {
+                    return Math.max(1, map.size());
+                }
+                return 1;
+            };
+        }
+        return (key, value) -> 1;
+    }
 }
@@ -0,0 +1,41 @@
+package com.expenses.expensetracker.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache sizing and expiry, bound from {@code app.cache.*}. Caches without an entry under
+ * {@code specs} (including ones first seen at runtime) use {@code defaults}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public enum Weigher {
+        // Every entry weighs 1 (use maximum-size instead of maximum-weight)
+        NONE,
+        // Collections and maps weigh their element count, anything else weighs 1
+        COLLECTION_SIZE
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private Long maximumSize;
+        private Long maximumWeight;
+        private Weigher weigher = Weigher.NONE;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        // Only honoured for caches that have a NamedCacheLoader to reload entries in the background
+        private Duration refreshAfterWrite;
+    }
+}
@@ -2,6 +2,7 @@ package com.expenses.expensetracker.config;
 
 import com.expenses.expensetracker.entity.*;
 import com.expenses.expensetracker.repository.*;
+import com.expenses.expensetracker.service.ExpenseSummaryService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -23,6 +24,8 @@ public class DataLoader {
     private final ApprovalRuleRepository approvalRuleRepository;
     private final ApproverConfigRepository approverConfigRepository;
     private final ApprovalStepRepository approvalStepRepository;
+    private final ExpenseSummaryRepository expenseSummaryRepository;
+    private final ExpenseSummaryService expenseSummaryService;
 
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -30,6 +33,7 @@ public class DataLoader {
     @Transactional
     public void loadData() {
         // Delete in order to avoid FK and collection issues
+        expenseSummaryRepository.deleteAllInBatch();
         approvalStepRepository.deleteAllInBatch();
         expenseRepository.deleteAllInBatch();
         approverConfigRepository.deleteAllInBatch();
@@ -45,6 +49,7 @@ public class DataLoader {
         tata.setDefaultCurrency("INR");
         tata.setRequireManagerApproval(true);
         tata.setAllowMultiCurrency(true);
+        tata.setEscalationSlaHours(72);
         tata.setCreatedAt(LocalDateTime.now());
         tata.setCreatedBy("system");
         companyRepository.save(tata);
@@ -129,17 +134,24 @@ public class DataLoader {
         expense.setStatus(ExpenseStatus.SUBMITTED);
         expense.setSubmittedAt(LocalDateTime.now());
         expense.setCompany(tata);
+        expense.setCurrentApprover(arjun);
+        expense.setCurrentStepSequence(1);
+        expense.setApprovalRuleId(rule.getId());
         expenseRepository.save(expense);
 
         // Insert ApprovalStep
         ApprovalStep step = new ApprovalStep();
-        step.setExpense(expense);
         step.setApprover(arjun);
-        step.setSequence(1);
-        step.setStatus(ApprovalStep.ApprovalStepStatus.PENDING);
+        step.setStage(ApprovalStage.MANAGER);
+        step.markPending();
         step.setComments("Please review");
         step.setActionDate(LocalDateTime.now());
         step.setReminderSent(false);
+        expense.addStep(step);
         approvalStepRepository.save(step);
+        expenseRepository.save(expense);
+
+        // Seed rows bypass the workflow, so derive the dashboard counters from them
+        expenseSummaryService.rebuild();
     }
 }
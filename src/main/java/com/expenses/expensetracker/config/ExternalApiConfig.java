@@ -11,6 +11,7 @@ import java.time.Duration;
 @Configuration
 public class ExternalApiConfig {
 
+    // Built from the auto-configured builder so every external call is timed as http.client.requests
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         return builder
@@ -0,0 +1,11 @@
+package com.expenses.expensetracker.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * Loader for a cache that is configured with refresh-after-write. The cache manager builds that
+ * cache as a loading cache so stale entries are reloaded in the background instead of on a miss.
+ */
+public interface NamedCacheLoader extends CacheLoader<Object, Object> {
+    String cacheName();
+}
@@ -0,0 +1,40 @@
+package com.expenses.expensetracker.config;
+
+import com.expenses.expensetracker.monitoring.RepositoryTimingInterceptor;
+import com.expenses.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class RepositoryMonitoringConfig {
+
+    private static final String REPOSITORY_PACKAGE = UserRepository.class.getPackageName();
+
+    // Adds the timing interceptor to every application repository as its factory bean is set up, outermost
+    // so the time includes the repository's transaction. Static: post-processors are created before other beans
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 @Value("${expense.repository.slow-threshold-ms:200}") long slowThresholdMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> {
+                            Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+                            if (repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                                proxyFactory.addAdvice(0, new RepositoryTimingInterceptor(
+                                    repositoryInterface.getSimpleName(), meterRegistry, slowThresholdMillis));
+                            }
+                        }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.expenses.expensetracker.config;
 
+import com.expenses.expensetracker.security.TimedPasswordEncoder;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,13 +21,18 @@ public class SecurityConfig {
                 // Public URLs
                 .requestMatchers("/signup", "/login", "/api/public/**", "/css/**", "/js/**", "/static/**").permitAll()
 
+                // Actuator (management port): health and the Prometheus scrape are open, the rest is admin-only
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+
                 // Admin-only URLs
                 .requestMatchers("/admin/**", "/users/**", "/roles/**", "/companies/**", "/approval-rules/**", "/approver-configs/**").hasRole("ADMIN")
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
                 // Manager and Admin URLs
                 .requestMatchers("/expenses/pending", "/expenses/team/**").hasAnyRole("MANAGER", "ADMIN")
-                .requestMatchers("/api/expenses/approve/**", "/api/expenses/reject/**").hasAnyRole("MANAGER", "ADMIN")
+                .requestMatchers("/expenses/bulk").hasAnyRole("MANAGER", "ADMIN")
+                .requestMatchers("/api/expenses/approve/**", "/api/expenses/reject/**", "/api/expenses/bulk").hasAnyRole("MANAGER", "ADMIN")
 
                 // All authenticated users can access expense functions
                 .requestMatchers("/expenses/**", "/api/expenses/**", "/dashboard", "/approval-steps/**").authenticated()
@@ -52,6 +59,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder());
     }
 }
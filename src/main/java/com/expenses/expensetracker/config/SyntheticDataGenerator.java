@@ -0,0 +1,347 @@
+package com.expenses.expensetracker.config;
+
+import com.expenses.expensetracker.entity.ApprovalStage;
+import com.expenses.expensetracker.entity.ApprovalStep.ApprovalStepStatus;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.repository.RoleRepository;
+import com.expenses.expensetracker.service.ExpenseSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the embedded database with a realistic volume of data for profiling: companies, each with a
+ * finance admin, managers and their reports, and expenses spread over dates, currencies, categories and
+ * statuses with the approval step history their status implies (manager then finance, the built-in routing).
+ * Rows go in through JDBC batches with pre-assigned ids, so a few million expenses take minutes.
+ * Runs after {@link DataLoader}; start with profiles {@code embedded,generate}.
+ */
+@Component
+@Profile("generate")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Matches the allocation size of approval_step_seq on ApprovalStep
+    private static final int STEP_ID_ALLOCATION = 50;
+
+    private static final String[] CATEGORIES =
+        {"Travel", "Meals", "Lodging", "Supplies", "Software", "Training", "Transport", "Other"};
+
+    // Country, currency and units per US dollar; a company's currency is its base currency
+    private static final String[][] LOCALES = {
+        {"India", "INR", "83.00"}, {"United States", "USD", "1.00"}, {"Germany", "EUR", "0.92"},
+        {"United Kingdom", "GBP", "0.79"}, {"Japan", "JPY", "150.00"}, {"Australia", "AUD", "1.52"}
+    };
+
+    // Cumulative status mix, in percent. Every expense has been submitted, as the app's own rows are: a draft
+    // has no submitted_at, so no keyset list would ever reach it and it would only pad the table
+    private static final ExpenseStatus[] STATUSES = {
+        ExpenseStatus.PENDING_MANAGER, ExpenseStatus.PENDING_FINANCE, ExpenseStatus.APPROVED, ExpenseStatus.REJECTED
+    };
+    private static final int[] STATUS_MIX = {15, 25, 85, 100};
+
+    private static final String EXPENSE_SQL =
+        "INSERT INTO expenses (id, version, amount, currency, base_currency_amount, exchange_rate, category, " +
+        "description, expense_date, submitter_id, company_id, status, current_approver_id, current_step_sequence, " +
+        "total_steps, approved_steps, rejected_steps, max_sequence, submitted_at, last_action_at, completed_at, " +
+        "rejection_reason) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String STEP_SQL =
+        "INSERT INTO approval_steps (id, version, expense_id, approver_id, sequence, status, stage, comments, " +
+        "action_date, reminder_sent, last_reminder_date) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, FALSE, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final ExpenseSummaryService expenseSummaryService;
+
+    private final int companies;
+    private final int managersPerCompany;
+    private final int reportsPerManager;
+    private final long expenses;
+    private final int days;
+    private final int batchSize;
+    private final long seed;
+
+    private long nextUserId;
+    private long nextExpenseId;
+    private long nextStepId;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  RoleRepository roleRepository,
+                                  ExpenseSummaryService expenseSummaryService,
+                                  @Value("${expense.generator.companies:10}") int companies,
+                                  @Value("${expense.generator.managers-per-company:20}") int managersPerCompany,
+                                  @Value("${expense.generator.reports-per-manager:25}") int reportsPerManager,
+                                  @Value("${expense.generator.expenses:1000000}") long expenses,
+                                  @Value("${expense.generator.days:730}") int days,
+                                  @Value("${expense.generator.batch-size:5000}") int batchSize,
+                                  @Value("${expense.generator.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRepository = roleRepository;
+        this.expenseSummaryService = expenseSummaryService;
+        this.companies = companies;
+        this.managersPerCompany = managersPerCompany;
+        this.reportsPerManager = reportsPerManager;
+        this.expenses = expenses;
+        this.days = days;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+    // One company's user tree: its finance admin, and each employee's manager
+    private record Org(long companyId, String currency, long financeId, long[] employeeIds, long[] managerIds) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(database)) {
+            throw new IllegalStateException("The synthetic data generator only runs against the embedded database, not " + database);
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        nextUserId = nextId("users");
+        nextExpenseId = nextId("expenses");
+        // Step ids start at a fresh sequence value, above any block Hibernate already holds in memory
+        nextStepId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR approval_step_seq", Long.class);
+
+        // Every user can sign in with the seed password
+        String password = new BCryptPasswordEncoder().encode("password123");
+        long[] roleIds = {roleId("ADMIN"), roleId("MANAGER"), roleId("EMPLOYEE")};
+
+        List<Org> orgs = new ArrayList<>(companies);
+        long firstCompanyId = nextId("companies");
+        for (int c = 0; c < companies; c++) {
+            orgs.add(insertCompany(firstCompanyId + c, c, password, roleIds));
+        }
+        long users = nextUserId - orgs.get(0).financeId();
+        log.info("Generated {} companies and {} users in {} ms", companies, users, System.currentTimeMillis() - started);
+
+        long steps = insertExpenses(orgs, random);
+
+        // Hibernate allocates ids from the identity columns and the step sequence; move them past the rows above
+        restartIdentity("companies", firstCompanyId + companies);
+        restartIdentity("users", nextUserId);
+        restartIdentity("expenses", nextExpenseId);
+        jdbcTemplate.execute("ALTER SEQUENCE approval_step_seq RESTART WITH " + (nextStepId + STEP_ID_ALLOCATION));
+
+        // Generated rows bypass the workflow, so derive the dashboard counters from them
+        expenseSummaryService.rebuild();
+        log.info("Generated {} expenses and {} approval steps in {} ms",
+            expenses, steps, System.currentTimeMillis() - started);
+    }
+
+    // roleIds: admin, manager, employee
+    private Org insertCompany(long companyId, int index, String password, long[] roleIds) {
+        String[] locale = LOCALES[index % LOCALES.length];
+        jdbcTemplate.update(
+            "INSERT INTO companies (id, name, country, default_currency, require_manager_approval, " +
+            "allow_multi_currency, escalation_sla_hours, created_at, created_by) VALUES (?, ?, ?, ?, TRUE, TRUE, 72, ?, 'generator')",
+            companyId, "Synthetic Company " + (index + 1), locale[0], locale[1], Timestamp.valueOf(LocalDateTime.now()));
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> roles = new ArrayList<>();
+        String prefix = "gen" + (index + 1) + "-";
+
+        long financeId = nextUserId++;
+        users.add(new Object[] {financeId, prefix + "finance", prefix + "finance@generated.local", password, null, companyId});
+        roles.add(new Object[] {financeId, roleIds[0]});
+
+        long[] employeeIds = new long[managersPerCompany * reportsPerManager];
+        long[] managerIds = new long[employeeIds.length];
+        int e = 0;
+        for (int m = 0; m < managersPerCompany; m++) {
+            long managerId = nextUserId++;
+            users.add(new Object[] {managerId, prefix + "manager" + m, prefix + "manager" + m + "@generated.local",
+                password, financeId, companyId});
+            roles.add(new Object[] {managerId, roleIds[1]});
+            for (int r = 0; r < reportsPerManager; r++, e++) {
+                long employeeId = nextUserId++;
+                String name = prefix + "employee" + m + "-" + r;
+                users.add(new Object[] {employeeId, name, name + "@generated.local", password, managerId, companyId});
+                roles.add(new Object[] {employeeId, roleIds[2]});
+                employeeIds[e] = employeeId;
+                managerIds[e] = managerId;
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (id, username, email, password, manager_id, company_id) VALUES (?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roles);
+        return new Org(companyId, locale[1], financeId, employeeIds, managerIds);
+    }
+
+    private long insertExpenses(List<Org> orgs, Random random) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> expenseBatch = new ArrayList<>(batchSize);
+        List<Object[]> stepBatch = new ArrayList<>(2 * batchSize);
+        long steps = 0;
+        long started = System.currentTimeMillis();
+
+        for (long i = 0; i < expenses; i++) {
+            Org org = orgs.get(random.nextInt(orgs.size()));
+            int e = random.nextInt(org.employeeIds().length);
+            long employeeId = org.employeeIds()[e];
+            long managerId = org.managerIds()[e];
+
+            // Mostly the company's own currency, the rest converted at a fixed rate
+            String[] locale = random.nextInt(5) == 0 ? LOCALES[random.nextInt(LOCALES.length)] : localeOf(org.currency());
+            BigDecimal amount = BigDecimal.valueOf(500 + random.nextInt(500_000), 2);
+            BigDecimal rate = new BigDecimal(localeOf(org.currency())[2]).divide(new BigDecimal(locale[2]), 6, RoundingMode.HALF_UP);
+            BigDecimal baseAmount = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+
+            LocalDate date = today.minusDays(random.nextInt(days));
+            LocalDateTime submittedAt = date.atTime(8 + random.nextInt(10), random.nextInt(60));
+            LocalDateTime managerActedAt = submittedAt.plusHours(1 + random.nextInt(72));
+            LocalDateTime financeActedAt = managerActedAt.plusHours(1 + random.nextInt(72));
+
+            ExpenseStatus status = pickStatus(random);
+            long expenseId = nextExpenseId++;
+            long stepId = nextStepId;
+            Long currentApprover = null;
+            Integer currentSequence = null;
+            int total = 2, approved = 0, rejected = 0;
+            LocalDateTime lastActionAt = submittedAt, completedAt = null;
+            String rejectionReason = null;
+
+            switch (status) {
+                case PENDING_MANAGER -> {
+                    currentApprover = managerId;
+                    currentSequence = 1;
+                    stepBatch.add(step(stepId, expenseId, managerId, 1, ApprovalStepStatus.PENDING, ApprovalStage.MANAGER, null, submittedAt));
+                    stepBatch.add(step(stepId + 1, expenseId, org.financeId(), 2, ApprovalStepStatus.WAITING, ApprovalStage.FINANCE, null, null));
+                }
+                case PENDING_FINANCE -> {
+                    currentApprover = org.financeId();
+                    currentSequence = 2;
+                    approved = 1;
+                    lastActionAt = managerActedAt;
+                    stepBatch.add(step(stepId, expenseId, managerId, 1, ApprovalStepStatus.APPROVED, ApprovalStage.MANAGER, managerActedAt, null));
+                    stepBatch.add(step(stepId + 1, expenseId, org.financeId(), 2, ApprovalStepStatus.PENDING, ApprovalStage.FINANCE, null, managerActedAt));
+                }
+                case APPROVED -> {
+                    approved = 2;
+                    lastActionAt = completedAt = financeActedAt;
+                    stepBatch.add(step(stepId, expenseId, managerId, 1, ApprovalStepStatus.APPROVED, ApprovalStage.MANAGER, managerActedAt, null));
+                    stepBatch.add(step(stepId + 1, expenseId, org.financeId(), 2, ApprovalStepStatus.APPROVED, ApprovalStage.FINANCE, financeActedAt, null));
+                }
+                default -> {
+                    // Rejected by the manager (finance step skipped) or by finance after the manager approved
+                    rejected = 1;
+                    rejectionReason = "Outside expense policy";
+                    if (random.nextBoolean()) {
+                        total = 1;
+                        lastActionAt = completedAt = managerActedAt;
+                        stepBatch.add(step(stepId, expenseId, managerId, 1, ApprovalStepStatus.REJECTED, ApprovalStage.MANAGER, managerActedAt, null));
+                        stepBatch.add(step(stepId + 1, expenseId, org.financeId(), 2, ApprovalStepStatus.SKIPPED, ApprovalStage.FINANCE, managerActedAt, null));
+                    } else {
+                        approved = 1;
+                        lastActionAt = completedAt = financeActedAt;
+                        stepBatch.add(step(stepId, expenseId, managerId, 1, ApprovalStepStatus.APPROVED, ApprovalStage.MANAGER, managerActedAt, null));
+                        stepBatch.add(step(stepId + 1, expenseId, org.financeId(), 2, ApprovalStepStatus.REJECTED, ApprovalStage.FINANCE, financeActedAt, null));
+                    }
+                }
+            }
+            nextStepId += 2;
+
+            expenseBatch.add(new Object[] {
+                expenseId, amount, locale[1], baseAmount, rate, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                "Synthetic expense " + i, Date.valueOf(date), employeeId, org.companyId(), status.name(),
+                currentApprover, currentSequence, total, approved, rejected, 2,
+                timestamp(submittedAt), timestamp(lastActionAt), timestamp(completedAt), rejectionReason
+            });
+
+            if (expenseBatch.size() == batchSize) {
+                steps += flush(expenseBatch, stepBatch);
+                if ((i + 1) % (20L * batchSize) == 0) {
+                    long elapsed = Math.max(1, System.currentTimeMillis() - started);
+                    log.info("Generated {} of {} expenses ({} rows/s)", i + 1, expenses, (i + 1 + steps) * 1000 / elapsed);
+                }
+            }
+        }
+        return steps + flush(expenseBatch, stepBatch);
+    }
+
+    // Expenses first: steps reference them
+    private int flush(List<Object[]> expenseBatch, List<Object[]> stepBatch) {
+        if (!expenseBatch.isEmpty()) {
+            jdbcTemplate.batchUpdate(EXPENSE_SQL, expenseBatch);
+        }
+        int steps = stepBatch.size();
+        if (steps > 0) {
+            jdbcTemplate.batchUpdate(STEP_SQL, stepBatch);
+        }
+        expenseBatch.clear();
+        stepBatch.clear();
+        return steps;
+    }
+
+    private Object[] step(long id, long expenseId, long approverId, int sequence, ApprovalStepStatus status,
+                          ApprovalStage stage, LocalDateTime actionDate, LocalDateTime pendingSince) {
+        String comments = switch (status) {
+            case APPROVED -> "Approved";
+            case REJECTED -> "Outside expense policy";
+            case SKIPPED -> "Not required: expense rejected";
+            default -> null;
+        };
+        return new Object[] {
+            id, expenseId, approverId, sequence, status.name(), stage.name(), comments,
+            timestamp(actionDate), timestamp(pendingSince)
+        };
+    }
+
+    private ExpenseStatus pickStatus(Random random) {
+        int roll = random.nextInt(100);
+        int i = 0;
+        while (roll >= STATUS_MIX[i]) {
+            i++;
+        }
+        return STATUSES[i];
+    }
+
+    private static String[] localeOf(String currency) {
+        for (String[] locale : LOCALES) {
+            if (locale[1].equals(currency)) {
+                return locale;
+            }
+        }
+        throw new IllegalArgumentException("Unknown currency " + currency);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    private Long roleId(String name) {
+        return roleRepository.findByName(name).map(Role::getId)
+            .orElseThrow(() -> new IllegalStateException("Role " + name + " not found"));
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
@@ -1,13 +1,16 @@
 package com.expenses.expensetracker.controller;
 
+import com.expenses.expensetracker.dto.AdminDashboardStats;
 import com.expenses.expensetracker.entity.*;
 import com.expenses.expensetracker.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,15 +29,18 @@ public class AdminController {
     @Autowired
     private CompanyService companyService;
 
-    @Autowired
-    private ExpenseService expenseService;
-
     @Autowired
     private ApprovalWorkflowService approvalWorkflowService;
 
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private DashboardQueryService dashboardQueryService;
+
+    @Autowired
+    private ReportService reportService;
+
     // User Management Routes
     @GetMapping("/users")
     public String listUsers(Model model) {
@@ -151,6 +157,7 @@ public class AdminController {
     @GetMapping("/rules")
     public String showRules(Model model) {
         model.addAttribute("rules", ruleService.getRulesForCompany(getCurrentCompanyId()));
+        model.addAttribute("ruleIssues", ruleService.getRuleIssues(getCurrentCompanyId()));
         model.addAttribute("managers", userService.getUsersByRole("MANAGER"));
         model.addAttribute("company", companyService.findById(getCurrentCompanyId()).orElseThrow());
         return "admin/rules";
@@ -235,14 +242,26 @@ public class AdminController {
     }
 
     @GetMapping("/reports")
-    public String showReports(Model model) {
-        // Add analytics data for admin reports
-        model.addAttribute("totalUsers", userService.findAll().size());
-        model.addAttribute("totalExpenses", expenseService.findAll().size());
-        model.addAttribute("pendingApprovals", expenseService.findAll().stream()
-                .filter(expense -> false)
-                .count());
-        model.addAttribute("totalCompanies", companyService.findAll().size());
+    public String showReports(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              Model model) {
+        // Default to the trailing twelve calendar months
+        LocalDate reportTo = to != null ? to : LocalDate.now();
+        LocalDate reportFrom = from != null ? from : reportTo.minusMonths(11).withDayOfMonth(1);
+
+        AdminDashboardStats stats = dashboardQueryService.getAdminStats();
+        model.addAttribute("totalUsers", stats.getTotalUsers());
+        model.addAttribute("totalExpenses", stats.getTotalExpenses());
+        model.addAttribute("pendingApprovals", stats.getPendingApprovals());
+        model.addAttribute("totalCompanies", stats.getTotalCompanies());
+
+        try {
+            model.addAttribute("report", reportService.buildReport(reportFrom, reportTo));
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("from", reportFrom);
+        model.addAttribute("to", reportTo);
         return "admin/reports";
     }
 
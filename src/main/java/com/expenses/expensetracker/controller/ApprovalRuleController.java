@@ -23,6 +23,11 @@ public class ApprovalRuleController {
     public String listRules(Model model) {
         List<ApprovalRule> rules = approvalRuleService.findAll();
         model.addAttribute("rules", rules);
+        model.addAttribute("ruleIssues", rules.stream()
+            .map(rule -> rule.getCompany().getId())
+            .distinct()
+            .flatMap(companyId -> approvalRuleService.getRuleIssues(companyId).stream())
+            .toList());
         return "admin/rules";
     }
 
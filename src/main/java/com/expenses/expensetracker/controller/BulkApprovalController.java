@@ -0,0 +1,33 @@
+package com.expenses.expensetracker.controller;
+
+import com.expenses.expensetracker.dto.BulkApprovalRequest;
+import com.expenses.expensetracker.dto.BulkApprovalResult;
+import com.expenses.expensetracker.security.SecurityUserDetailsService.SecurityUserDetails;
+import com.expenses.expensetracker.service.ApprovalWorkflowService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/expenses/bulk")
+public class BulkApprovalController {
+
+    private final ApprovalWorkflowService workflowService;
+
+    public BulkApprovalController(ApprovalWorkflowService workflowService) {
+        this.workflowService = workflowService;
+    }
+
+    // 200 with per-expense outcomes, even when some items fail; 400 only for a malformed request
+    @PostMapping
+    public ResponseEntity<List<BulkApprovalResult>> process(@RequestBody BulkApprovalRequest request,
+                                                            @AuthenticationPrincipal SecurityUserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(workflowService.processBulkAction(
+                request.getExpenseIds(), userDetails.getUser().getId(), request.getAction(), request.getComments()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
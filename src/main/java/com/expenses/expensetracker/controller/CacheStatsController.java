@@ -0,0 +1,52 @@
+package com.expenses.expensetracker.controller;
+
+import com.expenses.expensetracker.dto.CacheStatsView;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping
+    public List<CacheStatsView> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+            .sorted()
+            .map(cacheManager::getCache)
+            .filter(Objects::nonNull)
+            .map(this::toView)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private CacheStatsView toView(Cache cache) {
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsView(
+            cache.getName(),
+            nativeCache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount(),
+            stats.loadSuccessCount(),
+            stats.loadFailureCount(),
+            stats.averageLoadPenalty() / 1_000_000.0);
+    }
+}
@@ -47,6 +47,7 @@ public class CompanyController {
             if (company.getDefaultCurrency() == null || company.getDefaultCurrency().isEmpty()) {
                 company.setDefaultCurrency("INR");
             }
+            validateEscalationSla(company.getEscalationSlaHours());
 
             Company savedCompany = companyService.createCompany(company);
 
@@ -90,6 +91,8 @@ public class CompanyController {
             existingCompany.setDefaultCurrency(company.getDefaultCurrency());
             existingCompany.setAddress(company.getAddress());
             existingCompany.setContactEmail(company.getContactEmail());
+            validateEscalationSla(company.getEscalationSlaHours());
+            existingCompany.setEscalationSlaHours(company.getEscalationSlaHours());
 
             companyService.updateCompany(existingCompany);
             redirectAttributes.addFlashAttribute("message", "Company updated successfully!");
@@ -99,4 +102,11 @@ public class CompanyController {
             return "redirect:/companies/" + id + "/edit";
         }
     }
+
+    // The escalation scheduler looks ahead less than an hour, so shorter SLAs are not supported
+    private void validateEscalationSla(Integer slaHours) {
+        if (slaHours != null && slaHours < 1) {
+            throw new IllegalArgumentException("Escalation SLA must be at least one hour");
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.expenses.expensetracker.controller;
 
 import java.util.List;
+import com.expenses.expensetracker.dto.AdminDashboardStats;
+import com.expenses.expensetracker.dto.ExpenseTotals;
 import com.expenses.expensetracker.entity.User;
 import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.security.SecurityUserDetailsService.SecurityUserDetails;
 import com.expenses.expensetracker.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +26,12 @@ public class DashboardController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DashboardQueryService dashboardQueryService;
+
+    @Autowired
+    private ExpenseSummaryService summaryService;
+
     @GetMapping("/")
     public String home() {
         return "redirect:/dashboard";
@@ -60,26 +69,18 @@ public class DashboardController {
 
     private String showManagerDashboard(Long managerId, Model model) {
         try {
-            // Use cached methods for faster loading
-            List<Expense> pendingApprovals = workflowService.getPendingApprovalsForUser(managerId);
-            List<Expense> teamExpenses = workflowService.getTeamExpenses(managerId);
+            ExpenseTotals teamTotals = summaryService.getTeamTotals(managerId);
 
             model.addAttribute("view", "manager");
-            model.addAttribute("pendingCount", pendingApprovals.size());
-            model.addAttribute("teamExpenseCount", teamExpenses.size());
+            model.addAttribute("pendingCount", workflowService.countPendingApprovalsForUser(managerId));
+            model.addAttribute("teamExpenseCount", teamTotals.getExpenseCount());
             model.addAttribute("pendingApprovals",
-                pendingApprovals.subList(0, Math.min(5, pendingApprovals.size()))); // Show only 5 recent
+                workflowService.getPendingApprovalPage(managerId, null, null, 5).getContent()); // Show only 5
 
             // Add manager-specific metrics for expense approval
-            java.math.BigDecimal totalPendingAmount = pendingApprovals.stream()
-                .map(Expense::getAmount)
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-            model.addAttribute("totalPendingAmount", totalPendingAmount);
-
-            long highValueExpenses = teamExpenses.stream()
-                .filter(expense -> expense.getAmount().compareTo(new java.math.BigDecimal("1000")) > 0)
-                .count();
-            model.addAttribute("highValueExpenses", highValueExpenses);
+            model.addAttribute("totalPendingAmount", workflowService.getPendingApprovalAmountForUser(managerId));
+            model.addAttribute("teamPendingCount", teamTotals.getPendingCount());
+            model.addAttribute("teamApprovedCount", teamTotals.getApprovedCount());
 
             return "dashboard";
         } catch (Exception e) {
@@ -90,30 +91,17 @@ public class DashboardController {
 
     private String showEmployeeDashboard(Long employeeId, Model model) {
         try {
-            // Use the interface methods directly - no casting needed
-            Long expenseCount = expenseService.getExpenseCount(employeeId);
+            // Tallies come from the maintained summary rows, not from scanning expenses
+            ExpenseTotals totals = summaryService.getSubmitterTotals(employeeId);
             List<Expense> recentExpenses = expenseService.getRecentExpenses(employeeId);
 
             model.addAttribute("view", "employee");
-            model.addAttribute("myExpenseCount", expenseCount);
+            model.addAttribute("myExpenseCount", totals.getExpenseCount());
+            model.addAttribute("pendingExpenses", totals.getPendingCount());
+            model.addAttribute("approvedExpenses", totals.getApprovedCount());
+            model.addAttribute("totalAmount", totals.getTotalAmount());
             model.addAttribute("recentExpenses", recentExpenses);
 
-            // Add employee-specific metrics
-            java.math.BigDecimal totalAmount = recentExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-            model.addAttribute("totalExpenseAmount", totalAmount);
-
-            long pendingCount = recentExpenses.stream()
-                .filter(expense -> expense.getStatus().name().contains("PENDING"))
-                .count();
-            model.addAttribute("myPendingCount", pendingCount);
-
-            long approvedCount = recentExpenses.stream()
-                .filter(expense -> expense.getStatus().name().equals("APPROVED"))
-                .count();
-            model.addAttribute("myApprovedCount", approvedCount);
-
             return "dashboard";
         } catch (Exception e) {
             model.addAttribute("error", "Error loading employee dashboard");
@@ -125,33 +113,15 @@ public class DashboardController {
         try {
             model.addAttribute("view", "admin");
 
-            // Load all pending approvals and expenses for admin
-            List<Expense> allPendingApprovals = workflowService.getAllPendingApprovals();
-            List<Expense> allExpenses = expenseService.findAll();
-            List<User> allUsers = userService.findAll();
-
-            // Set the correct variable names that match the admin dashboard template
-            model.addAttribute("totalUsers", allUsers.size());
-            model.addAttribute("totalExpenses", allExpenses.size());
-            model.addAttribute("pendingApprovals", allPendingApprovals.size()); // This should be a count, not a list
-            model.addAttribute("totalCompanies", 1);
-
-            // Add recent expenses for the admin dashboard table
-            model.addAttribute("recentExpenses",
-                allExpenses.stream()
-                    .sorted((e1, e2) -> e2.getSubmittedAt().compareTo(e1.getSubmittedAt()))
-                    .limit(10)
-                    .toList());
-
-            // Add pending approvals list for admin review (separate from count)
-            model.addAttribute("pendingApprovalsList",
-                allPendingApprovals.stream().limit(10).toList());
-
-            // Add additional metrics
-            long approvedThisMonth = allExpenses.stream()
-                .filter(expense -> expense.getStatus().name().equals("APPROVED"))
-                .count();
-            model.addAttribute("approvedThisMonth", approvedThisMonth);
+            // Counts and the recent list come from aggregate / top-N queries
+            AdminDashboardStats stats = dashboardQueryService.getAdminStats();
+            model.addAttribute("totalUsers", stats.getTotalUsers());
+            model.addAttribute("totalExpenses", stats.getTotalExpenses());
+            model.addAttribute("pendingApprovals", stats.getPendingApprovals());
+            model.addAttribute("totalCompanies", stats.getTotalCompanies());
+            model.addAttribute("approvedThisMonth", stats.getApprovedThisMonth());
+
+            model.addAttribute("recentExpenses", dashboardQueryService.getRecentExpenses(10));
 
             return "dashboard";
         } catch (Exception e) {
@@ -161,6 +131,10 @@ public class DashboardController {
     }
 
     private Long getUserId(UserDetails userDetails) {
+        // The authenticated principal already carries the user id; avoid a lookup per request
+        if (userDetails instanceof SecurityUserDetails securityUser) {
+            return securityUser.getUser().getId();
+        }
         if (userDetails != null) {
             String username = userDetails.getUsername();
             User currentUser = userService.findByUsername(username);
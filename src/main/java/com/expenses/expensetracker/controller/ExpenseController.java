@@ -3,9 +3,16 @@ package com.expenses.expensetracker.controller;
 import com.expenses.expensetracker.entity.Expense;
 import com.expenses.expensetracker.entity.ExpenseStatus;
 import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.dto.BulkApprovalRequest;
+import com.expenses.expensetracker.dto.BulkApprovalResult;
+import com.expenses.expensetracker.dto.ExpenseFilter;
+import com.expenses.expensetracker.dto.ExpenseListRow;
 import com.expenses.expensetracker.dto.ExpenseOcrResult;
+import com.expenses.expensetracker.dto.KeysetPage;
+import com.expenses.expensetracker.security.SecurityUserDetailsService.SecurityUserDetails;
 import com.expenses.expensetracker.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -44,24 +51,35 @@ public class ExpenseController {
     private UserService userService;
 
     @GetMapping
-    public String listExpenses(@AuthenticationPrincipal UserDetails userDetails, Model model) {
+    public String listExpenses(@AuthenticationPrincipal UserDetails userDetails,
+                               @ModelAttribute("filter") ExpenseFilter filter,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                               @RequestParam(required = false) Long afterId,
+                               @RequestParam(defaultValue = "0") int page,
+                               @RequestParam(defaultValue = "25") int size,
+                               Model model) {
         model.addAttribute("currencies", currencyService.getAvailableCurrencies());
+        model.addAttribute("statuses", ExpenseStatus.values());
 
+        KeysetPage<ExpenseListRow> expensePage;
         if (userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
             // Admin should see ALL expenses in the system
-            model.addAttribute("expenses", expenseService.findAll());
-            return "expenses/list";
+            expensePage = expenseService.findPage(filter, after, afterId, size);
         } else if (userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"))) {
             // Manager sees team expenses
-            model.addAttribute("expenses", workflowService.getTeamExpenses(getUserId(userDetails)));
-            return "expenses/list";
+            expensePage = expenseService.getTeamExpensePage(getUserId(userDetails), filter, after, afterId, size);
         } else {
             // Employee sees only their own expenses
-            model.addAttribute("expenses", expenseService.getEmployeeExpenses(getUserId(userDetails)));
-            return "expenses/list";
+            expensePage = expenseService.getEmployeeExpensePage(getUserId(userDetails), filter, after, afterId, size);
         }
+
+        model.addAttribute("expenses", expensePage.getContent());
+        model.addAttribute("expensePage", expensePage);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("pageSize", expensePage.getSize());
+        return "expenses/list";
     }
 
     @GetMapping("/submit")
@@ -105,6 +123,10 @@ public class ExpenseController {
                     expense.getCurrency(),
                     submitter.getCompanyCurrency()
                 ));
+            } else {
+                // Record the base amount for same-currency expenses too, so reports can sum one column
+                expense.setBaseCurrencyAmount(expense.getAmount());
+                expense.setExchangeRate(BigDecimal.ONE);
             }
 
             Expense savedExpense = expenseService.submitExpense(expense);
@@ -124,9 +146,15 @@ public class ExpenseController {
     }
 
     @GetMapping("/pending")
-    public String listPendingApprovals(@AuthenticationPrincipal UserDetails userDetails, Model model) {
+    public String listPendingApprovals(@AuthenticationPrincipal UserDetails userDetails,
+                                       @RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                                       @RequestParam(required = false) Long afterId,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "25") int size,
+                                       Model model) {
         Long userId = getUserId(userDetails);
-        List<Expense> pendingExpenses;
+        KeysetPage<ExpenseListRow> pendingPage;
 
         boolean isAdmin = userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
@@ -135,11 +163,11 @@ public class ExpenseController {
 
         if (isAdmin) {
             // Admin sees ALL pending approvals across the system for override capability
-            pendingExpenses = workflowService.getAllPendingApprovals();
+            pendingPage = workflowService.getAllPendingApprovalPage(after, afterId, size);
             model.addAttribute("canOverrideApprovals", true);
         } else if (isManager) {
             // Manager sees only their team's pending approvals
-            pendingExpenses = workflowService.getPendingApprovalsForUser(userId);
+            pendingPage = workflowService.getPendingApprovalPage(userId, after, afterId, size);
             model.addAttribute("canOverrideApprovals", false);
         } else {
             // Employees cannot access pending approvals
@@ -151,16 +179,15 @@ public class ExpenseController {
         String companyCurrency = currentUser.getCompany() != null ?
             currentUser.getCompany().getDefaultCurrency() : "INR";
 
+        List<ExpenseListRow> pendingExpenses = pendingPage.getContent();
         model.addAttribute("pendingExpenses", pendingExpenses);
+        model.addAttribute("expensePage", pendingPage);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("pageSize", pendingPage.getSize());
         model.addAttribute("companyCurrency", companyCurrency);
 
         // Convert amounts to company default currency for managers/admins
-        model.addAttribute("convertedAmounts",
-            pendingExpenses.stream()
-                .collect(java.util.stream.Collectors.toMap(
-                    Expense::getId,
-                    e -> expenseService.convertToCompanyCurrency(e.getId())
-                )));
+        model.addAttribute("convertedAmounts", expenseService.convertToCompanyCurrency(pendingExpenses));
 
         return "expenses/pending";
     }
@@ -194,6 +221,27 @@ public class ExpenseController {
         return "redirect:/expenses/pending";
     }
 
+    @PostMapping("/bulk")
+    public String bulkAction(@RequestParam(required = false) List<Long> expenseIds,
+                             @RequestParam BulkApprovalRequest.Action action,
+                             @RequestParam(required = false, defaultValue = "") String comments,
+                             @AuthenticationPrincipal UserDetails userDetails,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            List<BulkApprovalResult> results =
+                workflowService.processBulkAction(expenseIds, getUserId(userDetails), action, comments);
+            long succeeded = results.stream().filter(BulkApprovalResult::isSuccess).count();
+            String verb = action == BulkApprovalRequest.Action.APPROVE ? "approved" : "rejected";
+
+            redirectAttributes.addFlashAttribute("message", succeeded + " of " + results.size() + " expenses " + verb + ".");
+            redirectAttributes.addFlashAttribute("bulkFailures",
+                results.stream().filter(result -> !result.isSuccess()).toList());
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error processing expenses: " + e.getMessage());
+        }
+        return "redirect:/expenses/pending";
+    }
+
     @PostMapping("/{id}/reject")
     public String rejectExpense(@PathVariable Long id,
                               @RequestParam String reason,
@@ -306,6 +354,10 @@ public class ExpenseController {
     }
 
     private Long getUserId(UserDetails userDetails) {
+        // The authenticated principal already carries the user id; avoid a lookup per request
+        if (userDetails instanceof SecurityUserDetails securityUser) {
+            return securityUser.getUser().getId();
+        }
         if (userDetails != null) {
             String username = userDetails.getUsername();
             User currentUser = userService.findByUsername(username);
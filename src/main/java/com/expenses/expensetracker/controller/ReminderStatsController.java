@@ -0,0 +1,23 @@
+package com.expenses.expensetracker.controller;
+
+import com.expenses.expensetracker.dto.ReminderRunStats;
+import com.expenses.expensetracker.service.ApprovalReminderService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/reminders")
+public class ReminderStatsController {
+
+    private final ApprovalReminderService reminderService;
+
+    public ReminderStatsController(ApprovalReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    @GetMapping
+    public ReminderRunStats getReminderStats() {
+        return reminderService.getStats();
+    }
+}
@@ -0,0 +1,16 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+
+/**
+ * Headline figures for the admin dashboard, computed with aggregate queries rather than
+ * by loading the expense and user tables.
+ */
+@Value
+public class AdminDashboardStats {
+    long totalUsers;
+    long totalExpenses;
+    long pendingApprovals;
+    long totalCompanies;
+    long approvedThisMonth;
+}
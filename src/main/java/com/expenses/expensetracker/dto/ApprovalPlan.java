@@ -0,0 +1,160 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ApprovalStage;
+import lombok.Value;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A company's approval rules compiled into amount bands, each with its ordered steps and completion
+ * semantics. Ids only, immutable, and cached per company; rebuilt when rules or approvers change.
+ */
+@Value
+public class ApprovalPlan implements Serializable {
+    Long companyId;
+
+    // Rule bands in precedence order (lowest minimum first, open minimums last), indexed by amount
+    List<Band> bands;
+    RuleIntervalIndex index;
+
+    // Built-in routing used when no rule band covers the amount
+    Band defaultBand;
+    Band managerSubmissionBand;
+
+    public ApprovalPlan(Long companyId, List<Band> bands, Band defaultBand, Band managerSubmissionBand) {
+        this.companyId = companyId;
+        this.bands = List.copyOf(bands);
+        this.index = new RuleIntervalIndex(this.bands);
+        this.defaultBand = defaultBand;
+        this.managerSubmissionBand = managerSubmissionBand;
+    }
+
+    public Band bandFor(BigDecimal amount, boolean managerSubmission) {
+        Band band = ruleBandFor(amount);
+        if (band != null) {
+            return band;
+        }
+        return managerSubmission ? managerSubmissionBand : defaultBand;
+    }
+
+    // The rule band covering the amount, or null when no rule applies
+    public Band ruleBandFor(BigDecimal amount) {
+        int position = index.find(amount);
+        return position >= 0 ? bands.get(position) : null;
+    }
+
+    // Overlapping or gapped rule bands found when the plan was compiled
+    public List<String> getIssues() {
+        return index.getIssues();
+    }
+
+    // The band an in-flight expense was routed with; null rule id means the built-in routing
+    public Band bandForRule(Long ruleId, boolean managerSubmission) {
+        if (ruleId != null) {
+            for (Band band : bands) {
+                if (ruleId.equals(band.getRuleId())) {
+                    return band;
+                }
+            }
+        }
+        return managerSubmission ? managerSubmissionBand : defaultBand;
+    }
+
+    @Value
+    public static class Band implements Serializable {
+        Long ruleId;
+        BigDecimal minAmount;
+        BigDecimal maxAmount;
+        List<Step> steps;
+
+        // Completion semantics, as on ApprovalRule: a percentage of the planned steps and/or a CFO sign-off
+        Integer requiredPercentage;
+        Long cfoApproverId;
+        boolean hybrid;
+        boolean percentageOrCfo;
+
+        public Band(Long ruleId, BigDecimal minAmount, BigDecimal maxAmount, List<Step> steps,
+                    Integer requiredPercentage, Long cfoApproverId, boolean hybrid, boolean percentageOrCfo) {
+            this.ruleId = ruleId;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+            this.steps = List.copyOf(steps);
+            this.requiredPercentage = requiredPercentage;
+            this.cfoApproverId = cfoApproverId;
+            this.hybrid = hybrid;
+            this.percentageOrCfo = percentageOrCfo;
+        }
+
+        public boolean covers(BigDecimal amount) {
+            return within(amount, minAmount, maxAmount);
+        }
+
+        public List<Step> stepsFor(BigDecimal amount) {
+            return steps.stream().filter(step -> step.appliesTo(amount)).toList();
+        }
+
+        // Whether the expense can be approved before its remaining waiting steps are reached, from the
+        // expense's step counters and whether the CFO has signed off
+        public boolean isSatisfied(int approvedSteps, int totalSteps, boolean cfoApproved) {
+            boolean cfoMet = cfoApproverId != null && cfoApproved;
+            if (requiresPercentageAndCfo()) {
+                return isPercentageMet(approvedSteps, totalSteps) && cfoMet;
+            }
+            return isPercentageMet(approvedSteps, totalSteps) || cfoMet;
+        }
+
+        public boolean isPercentageMet(int approvedSteps, int totalSteps) {
+            return requiredPercentage != null && totalSteps > 0
+                && approvedSteps * 100.0 / totalSteps >= requiredPercentage;
+        }
+
+        public boolean requiresPercentageAndCfo() {
+            return hybrid && !percentageOrCfo;
+        }
+    }
+
+    /**
+     * One planned approval. A null approver id on a MANAGER step means the submitter's manager. Bounds are
+     * inclusive, except that a step built with {@link #above} applies only to amounts strictly over its
+     * minimum, so it leaves no gap next to a step capped at the same amount whatever the amount's scale.
+     */
+    @Value
+    public static class Step implements Serializable {
+        ApprovalStage stage;
+        Long approverId;
+        BigDecimal minAmount;
+        BigDecimal maxAmount;
+        boolean minExclusive;
+
+        public Step(ApprovalStage stage, Long approverId, BigDecimal minAmount, BigDecimal maxAmount) {
+            this(stage, approverId, minAmount, maxAmount, false);
+        }
+
+        private Step(ApprovalStage stage, Long approverId, BigDecimal minAmount, BigDecimal maxAmount,
+                     boolean minExclusive) {
+            this.stage = stage;
+            this.approverId = approverId;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+            this.minExclusive = minExclusive;
+        }
+
+        public static Step above(ApprovalStage stage, Long approverId, BigDecimal threshold) {
+            return new Step(stage, approverId, threshold, null, true);
+        }
+
+        public boolean appliesTo(BigDecimal amount) {
+            if (minExclusive && minAmount != null && amount.compareTo(minAmount) <= 0) {
+                return false;
+            }
+            return within(amount, minAmount, maxAmount);
+        }
+    }
+
+    private static boolean within(BigDecimal amount, BigDecimal min, BigDecimal max) {
+        boolean aboveMin = min == null || amount.compareTo(min) >= 0;
+        boolean belowMax = max == null || amount.compareTo(max) <= 0;
+        return aboveMin && belowMax;
+    }
+}
@@ -0,0 +1,16 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.io.Serializable;
+
+/**
+ * Who approves at each fixed workflow stage for one company. Holds ids only so it can be cached
+ * safely; callers turn them into entity references. A null id means no one is eligible.
+ */
+@Value
+public class ApproverDirectory implements Serializable {
+    Long companyId;
+    Long financeApproverId;
+    Long directorApproverId;
+    Long cfoApproverId;
+}
@@ -0,0 +1,19 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkApprovalRequest {
+
+    public enum Action {
+        APPROVE,
+        REJECT
+    }
+
+    private List<Long> expenseIds;
+    private Action action;
+
+    // Approval comments, or the rejection reason (required when rejecting)
+    private String comments;
+}
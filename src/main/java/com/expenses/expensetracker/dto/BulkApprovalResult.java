@@ -0,0 +1,23 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Value;
+
+/**
+ * Outcome of one expense in a bulk approve/reject; status is the expense status after the action.
+ */
+@Value
+public class BulkApprovalResult {
+    Long expenseId;
+    boolean success;
+    ExpenseStatus status;
+    String message;
+
+    public static BulkApprovalResult succeeded(Long expenseId, ExpenseStatus status) {
+        return new BulkApprovalResult(expenseId, true, status, null);
+    }
+
+    public static BulkApprovalResult failed(Long expenseId, String message) {
+        return new BulkApprovalResult(expenseId, false, null, message);
+    }
+}
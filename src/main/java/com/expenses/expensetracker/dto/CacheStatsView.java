@@ -0,0 +1,19 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+
+/**
+ * Snapshot of one cache's size and hit/miss/eviction counters for the admin API.
+ */
+@Value
+public class CacheStatsView {
+    String name;
+    long estimatedSize;
+    long hitCount;
+    long missCount;
+    double hitRate;
+    long evictionCount;
+    long loadSuccessCount;
+    long loadFailureCount;
+    double averageLoadPenaltyMillis;
+}
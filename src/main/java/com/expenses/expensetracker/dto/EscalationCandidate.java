@@ -0,0 +1,13 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.time.LocalDateTime;
+
+/**
+ * A pending expense and the time its current step started, as loaded into the SLA escalation queue.
+ */
+@Value
+public class EscalationCandidate {
+    Long expenseId;
+    LocalDateTime lastActionAt;
+}
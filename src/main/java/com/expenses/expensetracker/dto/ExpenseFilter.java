@@ -0,0 +1,21 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
+
+@Data
+public class ExpenseFilter {
+    private ExpenseStatus status;
+    private String category;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;
+
+    // Free-text match against the description
+    private String search;
+}
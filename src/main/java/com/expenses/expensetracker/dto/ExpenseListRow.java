@@ -0,0 +1,26 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Value;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for expense listings and approval inboxes, filled by a JPQL constructor
+ * expression so list pages never hydrate (or lazily walk) Expense/User entities.
+ */
+@Value
+public class ExpenseListRow {
+    Long id;
+    LocalDate date;
+    String description;
+    String category;
+    BigDecimal amount;
+    String currency;
+    BigDecimal baseCurrencyAmount;
+    ExpenseStatus status;
+    LocalDateTime submittedAt;
+    String submitterName;
+    String companyCurrency;
+}
@@ -0,0 +1,20 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spend totals for a date range, grouped several ways. All totals are in each company's
+ * base currency, so every row carries the currency it is expressed in.
+ */
+@Value
+public class ExpenseReport {
+    LocalDate from;
+    LocalDate to;
+    List<ReportRow> byCompany;
+    List<ReportRow> byCategory;
+    List<ReportRow> byStatus;
+    List<ReportRow> topSubmitters;
+    List<ReportRow> byMonth;
+}
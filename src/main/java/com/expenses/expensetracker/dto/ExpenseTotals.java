@@ -0,0 +1,17 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.math.BigDecimal;
+
+/**
+ * Dashboard tallies folded from the per-status expense summary rows.
+ */
+@Value
+public class ExpenseTotals {
+    long expenseCount;
+    BigDecimal totalAmount;
+    long pendingCount;
+    BigDecimal pendingAmount;
+    long approvedCount;
+    BigDecimal approvedAmount;
+}
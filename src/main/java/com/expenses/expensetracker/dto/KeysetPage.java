@@ -0,0 +1,26 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The next page is requested with the
+ * (submittedAt, id) of the last row instead of an offset, so every page costs the same.
+ */
+@Getter
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final LocalDateTime nextSubmittedAt;
+    private final Long nextId;
+
+    public KeysetPage(List<T> content, int size, boolean hasNext, LocalDateTime nextSubmittedAt, Long nextId) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextSubmittedAt = nextSubmittedAt;
+        this.nextId = nextId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything one approver is reminded about in a run. Counts cover every due step; only the
+ * oldest few are kept as lines, so a digest stays small however large the approver's backlog is.
+ */
+@Getter
+public class ReminderDigest {
+    private final Long approverId;
+    private final String approverName;
+    private final String approverEmail;
+    private final List<ReminderRow> items = new ArrayList<>();
+    private int pendingCount;
+    private LocalDateTime oldestSubmittedAt;
+
+    public ReminderDigest(Long approverId, String approverName, String approverEmail) {
+        this.approverId = approverId;
+        this.approverName = approverName;
+        this.approverEmail = approverEmail;
+    }
+
+    public void add(ReminderRow row, int maxItems) {
+        pendingCount++;
+        if (row.getSubmittedAt() != null
+                && (oldestSubmittedAt == null || row.getSubmittedAt().isBefore(oldestSubmittedAt))) {
+            oldestSubmittedAt = row.getSubmittedAt();
+        }
+        if (items.size() < maxItems) {
+            items.add(row);
+        }
+    }
+
+    public List<ReminderRow> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public int getOmittedCount() {
+        return pendingCount - items.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One pending approval step that is due a reminder, with just enough of the approver and expense
+ * for a digest line. Filled by a JPQL constructor expression.
+ */
+@Value
+public class ReminderRow {
+    Long stepId;
+    LocalDateTime lastReminderDate;
+    Long approverId;
+    String approverName;
+    String approverEmail;
+    Long expenseId;
+    String description;
+    BigDecimal amount;
+    String currency;
+    LocalDateTime submittedAt;
+}
@@ -0,0 +1,20 @@
+package com.expenses.expensetracker.dto;
+
+import lombok.Value;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of the last reminder run plus the live backlog, for the admin API.
+ */
+@Value
+public class ReminderRunStats {
+    LocalDateTime lastRunStartedAt;
+    long lastRunDurationMillis;
+    int lastRunChunks;
+    long lastRunStepsReminded;
+    int lastRunDigestsSent;
+    int lastRunDigestFailures;
+
+    // Steps due a reminder right now
+    long backlog;
+}
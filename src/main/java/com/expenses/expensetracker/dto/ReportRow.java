@@ -0,0 +1,33 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+/**
+ * One group of a spend report: a label, the company base currency the total is expressed in,
+ * the number of expenses and their summed base-currency amount. The constructors match the
+ * JPQL constructor expressions used by the grouping queries.
+ */
+@Getter
+public class ReportRow {
+    private final String label;
+    private final String currency;
+    private final long expenseCount;
+    private final BigDecimal total;
+
+    public ReportRow(String label, String currency, Long expenseCount, BigDecimal total) {
+        this.label = label;
+        this.currency = currency;
+        this.expenseCount = expenseCount != null ? expenseCount : 0L;
+        this.total = total != null ? total : BigDecimal.ZERO;
+    }
+
+    public ReportRow(ExpenseStatus status, String currency, Long expenseCount, BigDecimal total) {
+        this(status.getDisplayName(), currency, expenseCount, total);
+    }
+
+    public ReportRow(Integer year, Integer month, String currency, Long expenseCount, BigDecimal total) {
+        this(String.format("%04d-%02d", year, month), currency, expenseCount, total);
+    }
+}
@@ -0,0 +1,112 @@
+package com.expenses.expensetracker.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Amount-to-band lookup over closed [min, max] bands (null = unbounded) in O(log n).
+ * Every band bound is a breakpoint, which splits the amount line into pieces: the breakpoints
+ * themselves and the open gaps between them. Each piece is assigned the first band (in precedence
+ * order) that covers it. Overlapping bands and uncovered gaps between bands are reported when the
+ * index is built.
+ *
+ * Open bounds are read as unbounded on that side. The amount-range query this replaced did not: a rule
+ * with a minimum and no maximum never matched there, and one with no minimum matched every amount
+ * whatever its maximum. Such rules now cover [min, +inf) and (-inf, max] respectively.
+ */
+public final class RuleIntervalIndex implements Serializable {
+
+    private static final int NONE = -1;
+
+    // Piece 2i is the open gap below breakpoints[i] (the last piece is above the top); piece 2i + 1 is breakpoints[i]
+    private final BigDecimal[] breakpoints;
+    private final int[] owners;
+    private final List<String> issues;
+
+    public RuleIntervalIndex(List<ApprovalPlan.Band> bands) {
+        TreeSet<BigDecimal> bounds = new TreeSet<>();
+        for (ApprovalPlan.Band band : bands) {
+            if (band.getMinAmount() != null) bounds.add(band.getMinAmount());
+            if (band.getMaxAmount() != null) bounds.add(band.getMaxAmount());
+        }
+        this.breakpoints = bounds.toArray(new BigDecimal[0]);
+
+        int pieces = 2 * breakpoints.length + 1;
+        List<List<Long>> covering = new ArrayList<>(pieces);
+        this.owners = new int[pieces];
+        for (int p = 0; p < pieces; p++) {
+            BigDecimal sample = sample(p);
+            List<Long> ruleIds = new ArrayList<>();
+            owners[p] = NONE;
+            for (int b = 0; b < bands.size(); b++) {
+                if (bands.get(b).covers(sample)) {
+                    ruleIds.add(bands.get(b).getRuleId());
+                    if (owners[p] == NONE) owners[p] = b;
+                }
+            }
+            covering.add(ruleIds);
+        }
+        this.issues = List.copyOf(diagnose(covering));
+    }
+
+    // Position of the band that applies to the amount, in the list the index was built from, or -1
+    public int find(BigDecimal amount) {
+        int i = Arrays.binarySearch(breakpoints, amount);
+        return owners[i >= 0 ? 2 * i + 1 : 2 * (-i - 1)];
+    }
+
+    public List<String> getIssues() {
+        return issues;
+    }
+
+    // Runs of pieces covered by the same several rules are one overlap; uncovered runs between the lowest
+    // and highest covered piece are gaps (the open ends below and above all rules are expected)
+    private List<String> diagnose(List<List<Long>> covering) {
+        List<String> found = new ArrayList<>();
+        int first = NONE, last = NONE;
+        for (int p = 0; p < owners.length; p++) {
+            if (owners[p] != NONE) {
+                if (first == NONE) first = p;
+                last = p;
+            }
+        }
+
+        int p = 0;
+        while (p < owners.length) {
+            int end = p;
+            while (end + 1 < owners.length && covering.get(end + 1).equals(covering.get(p))) {
+                end++;
+            }
+            List<Long> ruleIds = covering.get(p);
+            if (ruleIds.size() > 1) {
+                found.add("Rules " + ruleIds + " overlap on " + range(p, end) + "; rule " + ruleIds.get(0) + " applies");
+            } else if (ruleIds.isEmpty() && p > first && end < last) {
+                found.add("No rule covers " + range(p, end));
+            }
+            p = end + 1;
+        }
+        return found;
+    }
+
+    // Any amount inside a piece is representative, since no band bound falls strictly inside one
+    private BigDecimal sample(int piece) {
+        if (piece % 2 == 1) return breakpoints[piece / 2];
+        int i = piece / 2;
+        if (breakpoints.length == 0) return BigDecimal.ZERO;
+        if (i == 0) return breakpoints[0].subtract(BigDecimal.ONE);
+        if (i == breakpoints.length) return breakpoints[i - 1].add(BigDecimal.ONE);
+        return breakpoints[i - 1].add(breakpoints[i]).divide(BigDecimal.valueOf(2));
+    }
+
+    private String range(int fromPiece, int toPiece) {
+        String low = fromPiece % 2 == 1 ? "[" + breakpoints[fromPiece / 2].toPlainString()
+            : fromPiece == 0 ? "(-inf" : "(" + breakpoints[fromPiece / 2 - 1].toPlainString();
+        String high = toPiece % 2 == 1 ? breakpoints[toPiece / 2].toPlainString() + "]"
+            : toPiece / 2 == breakpoints.length ? "+inf)" : breakpoints[toPiece / 2].toPlainString() + ")";
+        return low + ", " + high;
+    }
+}
@@ -0,0 +1,13 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Value;
+
+/**
+ * One bucket of a GROUP BY status count.
+ */
+@Value
+public class StatusCount {
+    ExpenseStatus status;
+    Long count;
+}
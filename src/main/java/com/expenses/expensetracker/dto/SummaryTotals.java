@@ -0,0 +1,24 @@
+package com.expenses.expensetracker.dto;
+
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+/**
+ * A submitter's expenses in one company and status, counted from the expenses table; what the matching
+ * expense summary row should hold. The constructor matches the JPQL constructor expression.
+ */
+@Getter
+public class SummaryTotals {
+    private final Long companyId;
+    private final ExpenseStatus status;
+    private final long expenseCount;
+    private final BigDecimal total;
+
+    public SummaryTotals(Long companyId, ExpenseStatus status, Long expenseCount, BigDecimal total) {
+        this.companyId = companyId;
+        this.status = status;
+        this.expenseCount = expenseCount != null ? expenseCount : 0L;
+        this.total = total != null ? total : BigDecimal.ZERO;
+    }
+}
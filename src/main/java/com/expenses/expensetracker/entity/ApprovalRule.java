@@ -58,25 +58,19 @@ public class ApprovalRule {
         }
 
         boolean percentageApproved = checkPercentageApproval(expense);
-        boolean cfoApproved = checkCfoApproval(expense);
 
-        if (isHybridRule) {
-            return isPercentageOrCfo ?
-                   (percentageApproved || cfoApproved) :
-                   (percentageApproved && cfoApproved);
+        // The CFO check walks the steps, so it only runs when the percentage alone does not decide
+        if (isHybridRule && !isPercentageOrCfo) {
+            return percentageApproved && checkCfoApproval(expense);
         }
 
-        return percentageApproved || cfoApproved;
+        return percentageApproved || checkCfoApproval(expense);
     }
 
     private boolean checkPercentageApproval(Expense expense) {
-        if (requiredPercentage == null) return false;
+        if (requiredPercentage == null || expense.getTotalSteps() == 0) return false;
 
-        long approvedCount = expense.getApprovalSteps().stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.APPROVED)
-            .count();
-
-        double percentage = (approvedCount * 100.0) / expense.getApprovalSteps().size();
+        double percentage = (expense.getApprovedSteps() * 100.0) / expense.getTotalSteps();
         return percentage >= requiredPercentage;
     }
 
@@ -0,0 +1,19 @@
+package com.expenses.expensetracker.entity;
+
+// Which workflow stage an approval step belongs to; decides the expense status while the step is current
+public enum ApprovalStage {
+    MANAGER(ExpenseStatus.PENDING_MANAGER),
+    FINANCE(ExpenseStatus.PENDING_FINANCE),
+    DIRECTOR(ExpenseStatus.PENDING_DIRECTOR),
+    CFO(ExpenseStatus.PENDING_DIRECTOR);
+
+    private final ExpenseStatus pendingStatus;
+
+    ApprovalStage(ExpenseStatus pendingStatus) {
+        this.pendingStatus = pendingStatus;
+    }
+
+    public ExpenseStatus getPendingStatus() {
+        return pendingStatus;
+    }
+}
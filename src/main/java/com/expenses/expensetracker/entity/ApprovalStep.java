@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
@@ -14,7 +15,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_step_approver", columnList = "approver_id"),
         @Index(name = "idx_step_sequence", columnList = "sequence"),
         @Index(name = "idx_step_status", columnList = "status"),
-        @Index(name = "idx_step_expense_status", columnList = "expense_id,status")
+        @Index(name = "idx_step_expense_status", columnList = "expense_id,status"),
+        @Index(name = "idx_step_status_reminder", columnList = "status,last_reminder_date,id")
     }
 )
 @Getter
@@ -22,10 +24,18 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(exclude = {"expense", "approver"})
 @ToString(exclude = {"expense", "approver"})
 public class ApprovalStep {
+    // Sequence ids (not IDENTITY) so a plan's steps are inserted in one JDBC batch at submission
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "approval_step_seq")
+    @SequenceGenerator(name = "approval_step_seq", sequenceName = "approval_step_seq", allocationSize = 50)
     private Long id;
 
+    // Reminder sweeps update their columns in bulk without bumping this
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "expense_id", nullable = false)
     private Expense expense;
@@ -41,6 +51,11 @@ public class ApprovalStep {
     @Column(nullable = false)
     private ApprovalStepStatus status = ApprovalStepStatus.PENDING;
 
+    // Null for ad-hoc steps (CFO sign-off, admin override, escalation log)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ApprovalStage stage;
+
     @Column(length = 500)
     private String comments;
 
@@ -50,32 +65,51 @@ public class ApprovalStep {
     @Column(name = "reminder_sent")
     private boolean reminderSent = false;
 
+    // Reminder clock: set when the step becomes pending and again on every reminder, so due steps are a
+    // range scan on (status, last_reminder_date)
     @Column(name = "last_reminder_date")
     private LocalDateTime lastReminderDate;
 
     public enum ApprovalStepStatus {
+        WAITING,       // Planned at submission; becomes PENDING when the steps before it are approved
         PENDING,
         APPROVED,
         REJECTED,
         SKIPPED        // For when CFO approval bypasses normal flow
     }
 
-    // Action methods
+    @PrePersist
+    protected void onCreate() {
+        if (isPending() && lastReminderDate == null) {
+            this.lastReminderDate = LocalDateTime.now();
+        }
+    }
+
+    // A waiting step's turn has come; its first reminder is due one interval from now
+    public void markPending() {
+        this.status = ApprovalStepStatus.PENDING;
+        this.lastReminderDate = LocalDateTime.now();
+    }
+
+    // Action methods - these keep the expense's step counters in step with the status
     public void approve(String comments) {
-        this.status = ApprovalStepStatus.APPROVED;
-        this.comments = comments;
-        this.actionDate = LocalDateTime.now();
+        act(ApprovalStepStatus.APPROVED, comments);
     }
 
     public void reject(String comments) {
-        this.status = ApprovalStepStatus.REJECTED;
-        this.comments = comments;
-        this.actionDate = LocalDateTime.now();
+        act(ApprovalStepStatus.REJECTED, comments);
     }
 
     public void skip(String reason) {
-        this.status = ApprovalStepStatus.SKIPPED;
-        this.comments = reason;
+        act(ApprovalStepStatus.SKIPPED, reason);
+    }
+
+    private void act(ApprovalStepStatus next, String comments) {
+        if (expense != null) {
+            expense.stepStatusChanged(this, next);
+        }
+        this.status = next;
+        this.comments = comments;
         this.actionDate = LocalDateTime.now();
     }
 
@@ -84,6 +118,10 @@ public class ApprovalStep {
         return status == ApprovalStepStatus.PENDING;
     }
 
+    public boolean isWaiting() {
+        return status == ApprovalStepStatus.WAITING;
+    }
+
     public boolean isCompleted() {
         return status == ApprovalStepStatus.APPROVED ||
                status == ApprovalStepStatus.REJECTED;
@@ -48,6 +48,11 @@ public class Company {
     private BigDecimal autoApprovalThreshold;
     private BigDecimal cfoApprovalThreshold;
 
+    // Manager/finance steps pending longer than this (from Expense.lastActionAt) are escalated to a
+    // director automatically; null turns auto-escalation off
+    @Column(name = "escalation_sla_hours")
+    private Integer escalationSlaHours;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
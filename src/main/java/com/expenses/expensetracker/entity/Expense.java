@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,18 +18,31 @@ import java.util.List;
         @Index(name = "idx_expense_submitter", columnList = "submitter_id"),
         @Index(name = "idx_expense_status", columnList = "status"),
         @Index(name = "idx_expense_date", columnList = "expense_date"),
-        @Index(name = "idx_expense_amount_currency", columnList = "amount,currency")
+        @Index(name = "idx_expense_amount_currency", columnList = "amount,currency"),
+        @Index(name = "idx_expense_submitted", columnList = "submitted_at,id"),
+        @Index(name = "idx_expense_submitter_submitted", columnList = "submitter_id,submitted_at,id"),
+        @Index(name = "idx_expense_status_completed", columnList = "status,completed_at"),
+        @Index(name = "idx_expense_status_submitted", columnList = "status,submitted_at,id"),
+        @Index(name = "idx_expense_current_approver", columnList = "current_approver_id,status,submitted_at"),
+        @Index(name = "idx_expense_company_action", columnList = "company_id,status,last_action_at")
     }
 )
 @Getter
 @Setter
 @EqualsAndHashCode(exclude = {"approvalSteps"})
-@ToString(exclude = {"approvalSteps", "submitter", "company"})
+@ToString(exclude = {"approvalSteps", "submitter", "company", "currentApprover"})
 public class Expense {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Every workflow action changes the expense row (status, current approver or step counters), so
+    // concurrent actions on one expense conflict here at commit instead of interleaving
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false)
     private BigDecimal amount;
 
@@ -65,10 +79,43 @@ public class Expense {
     @Column(nullable = false)
     private ExpenseStatus status = ExpenseStatus.DRAFT;
 
+    // Denormalized from the lowest pending approval step so inboxes never scan approval_steps;
+    // null once the expense has no pending step
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_approver_id")
+    private User currentApprover;
+
+    @Column(name = "current_step_sequence")
+    private Integer currentStepSequence;
+
+    // Rule whose plan band produced the steps (null = built-in routing). A plain id rather than a
+    // relation so rules can be deleted while expenses they routed are still in flight
+    @Column(name = "approval_rule_id")
+    private Long approvalRuleId;
+
     @OneToMany(mappedBy = "expense", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("sequence")
     private List<ApprovalStep> approvalSteps = new ArrayList<>();
 
+    // Step progress, maintained by addStep/removeStep and the step action methods so rule evaluation and
+    // sequence allocation never load approval_steps. Counts cover planned (staged) steps; skipped ones drop out
+    @ColumnDefault("0")
+    @Column(name = "total_steps", nullable = false)
+    private int totalSteps;
+
+    @ColumnDefault("0")
+    @Column(name = "approved_steps", nullable = false)
+    private int approvedSteps;
+
+    @ColumnDefault("0")
+    @Column(name = "rejected_steps", nullable = false)
+    private int rejectedSteps;
+
+    // Highest sequence handed out, ad-hoc steps included
+    @ColumnDefault("0")
+    @Column(name = "max_sequence", nullable = false)
+    private int maxSequence;
+
     // Dates for tracking
     @Column(name = "submitted_at")
     private LocalDateTime submittedAt;
@@ -199,9 +246,44 @@ public class Expense {
             .orElse(null);
     }
 
-    public List<ApprovalStep> getApprovedSteps() {
-        return this.approvalSteps.stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.APPROVED)
-            .toList();
+    // Attaches a new step, giving it the next sequence unless it already has one, and counts it
+    public void addStep(ApprovalStep step) {
+        step.setExpense(this);
+        if (step.getSequence() == null) {
+            step.setSequence(this.maxSequence + 1);
+        }
+        this.maxSequence = Math.max(this.maxSequence, step.getSequence());
+        if (step.getStage() != null) {
+            this.totalSteps++;
+            countStep(step.getStatus(), 1);
+        }
+    }
+
+    public void removeStep(ApprovalStep step) {
+        if (step.getStage() != null) {
+            this.totalSteps--;
+            countStep(step.getStatus(), -1);
+        }
+    }
+
+    // Called by the step action methods, before the step takes its new status
+    public void stepStatusChanged(ApprovalStep step, ApprovalStep.ApprovalStepStatus next) {
+        if (step.getStage() != null) {
+            countStep(step.getStatus(), -1);
+            countStep(next, 1);
+        }
+    }
+
+    public int getApprovalPercentage() {
+        return this.totalSteps == 0 ? 0 : (int) (this.approvedSteps * 100L / this.totalSteps);
+    }
+
+    private void countStep(ApprovalStep.ApprovalStepStatus status, int delta) {
+        switch (status) {
+            case APPROVED -> this.approvedSteps += delta;
+            case REJECTED -> this.rejectedSteps += delta;
+            case SKIPPED -> this.totalSteps -= delta;
+            default -> { }
+        }
     }
 }
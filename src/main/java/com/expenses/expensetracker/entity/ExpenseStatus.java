@@ -42,6 +42,15 @@ public enum ExpenseStatus {
                this == PENDING_ADDITIONAL_INFO;
     }
 
+    public boolean isApproved() {
+        return this == APPROVED || this == CFO_APPROVED;
+    }
+
+    // Submitted and not yet decided, including expenses sent back for more information
+    public boolean isAwaitingApproval() {
+        return this == SUBMITTED || this == PARTIALLY_APPROVED || requiresAction();
+    }
+
     public boolean canBeEdited() {
         return this == DRAFT ||
                this == PENDING_ADDITIONAL_INFO;
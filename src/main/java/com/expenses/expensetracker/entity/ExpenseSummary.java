@@ -0,0 +1,49 @@
+package com.expenses.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import java.math.BigDecimal;
+
+/**
+ * Running count and base-currency total of a submitter's expenses in one status. Maintained
+ * incrementally by every status transition and rebuilt periodically from the expenses table.
+ */
+@Entity
+@Table(name = "expense_summaries",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_summary_company_submitter_status", columnNames = {"company_id", "submitter_id", "status"})
+    },
+    indexes = {
+        @Index(name = "idx_summary_submitter", columnList = "submitter_id")
+    }
+)
+@Getter
+@Setter
+@EqualsAndHashCode(exclude = {"company", "submitter"})
+@ToString(exclude = {"company", "submitter"})
+public class ExpenseSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "submitter_id", nullable = false)
+    private User submitter;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseStatus status;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+}
@@ -0,0 +1,26 @@
+package com.expenses.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease for a scheduled job: the node named as owner runs the job until leaseUntil,
+ * renewing as it goes. Another node may take over once the lease has lapsed.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+public class SchedulerLease {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -37,7 +37,8 @@ public class User {
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
-        inverseJoinColumns = @JoinColumn(name = "role_id")
+        inverseJoinColumns = @JoinColumn(name = "role_id"),
+        indexes = @Index(name = "idx_user_roles_role", columnList = "role_id,user_id")
     )
     private Set<Role> roles = new HashSet<>();
 
@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * An admin approved the expense directly, skipping any pending steps.
+ */
+public class ApprovalOverriddenEvent extends ExpenseEvent {
+    public ApprovalOverriddenEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.service.ApprovalPlanService;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Recompiles a company's approval plan once its rule changes commit. The new plan replaces the cached
+ * one in a single put, so lookups see either the old or the new rule index, never an empty cache.
+ */
+@Component
+public class ApprovalPlanRefreshListener {
+
+    private final ApprovalPlanService approvalPlanService;
+    private final CacheManager cacheManager;
+
+    public ApprovalPlanRefreshListener(ApprovalPlanService approvalPlanService, CacheManager cacheManager) {
+        this.approvalPlanService = approvalPlanService;
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRulesChanged(ApprovalRulesChangedEvent event) {
+        // The rule-designated CFO lives in the approver directory, which the plan is compiled from
+        Cache directory = cacheManager.getCache(ApproverDirectoryService.CACHE_NAME);
+        if (directory != null) {
+            directory.evict(event.getCompanyId());
+        }
+        approvalPlanService.rebuild(event.getCompanyId());
+    }
+}
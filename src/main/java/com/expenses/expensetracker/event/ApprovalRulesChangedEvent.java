@@ -0,0 +1,15 @@
+package com.expenses.expensetracker.event;
+
+import lombok.Getter;
+
+/**
+ * A company's approval rules (bands, percentages, CFO or approver sequence) were created, changed or deleted.
+ */
+@Getter
+public class ApprovalRulesChangedEvent {
+    private final Long companyId;
+
+    public ApprovalRulesChangedEvent(Long companyId) {
+        this.companyId = companyId;
+    }
+}
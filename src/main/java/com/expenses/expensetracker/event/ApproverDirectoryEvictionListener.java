@@ -0,0 +1,36 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.service.ApprovalPlanService;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears the approver directory and the plans compiled from it once a user or role change commits.
+ * Evicting before commit would let a concurrent lookup re-cache the old approvers.
+ */
+@Component
+public class ApproverDirectoryEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    public ApproverDirectoryEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApproversChanged(ApproversChangedEvent event) {
+        clear(ApproverDirectoryService.CACHE_NAME);
+        clear(ApprovalPlanService.CACHE_NAME);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.expenses.expensetracker.event;
+
+/**
+ * A user or role changed in a way that can move someone in or out of an approver position
+ * (roles, manager, company). Role changes span companies, so the event carries no key.
+ */
+public class ApproversChangedEvent {
+}
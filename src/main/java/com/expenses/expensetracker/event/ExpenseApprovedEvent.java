@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * The expense reached a final approved state.
+ */
+public class ExpenseApprovedEvent extends ExpenseEvent {
+    public ExpenseApprovedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
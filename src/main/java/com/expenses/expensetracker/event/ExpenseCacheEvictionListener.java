@@ -0,0 +1,39 @@
+package com.expenses.expensetracker.event;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cached views an expense event makes stale, keyed by exactly the users involved.
+ * Runs after commit so a reader can never re-cache the pre-commit state.
+ */
+@Component
+public class ExpenseCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    public ExpenseCacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseEvent(ExpenseEvent event) {
+        evict("userExpenses", event.getSubmitterId());
+        evict("recentExpenses", event.getSubmitterId());
+        evict("expenseCount", event.getSubmitterId());
+        evict("teamExpenses", event.getManagerId());
+    }
+
+    private void evict(String cacheName, Long key) {
+        if (key == null) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
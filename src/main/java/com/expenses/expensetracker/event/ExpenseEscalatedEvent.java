@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * The expense was escalated past its current approver to a director.
+ */
+public class ExpenseEscalatedEvent extends ExpenseEvent {
+    public ExpenseEscalatedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+import lombok.Getter;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Base class for expense workflow events. Carries only ids, captured while the transaction is
+ * open, so after-commit listeners never touch lazy associations.
+ */
+@Getter
+public abstract class ExpenseEvent {
+    private final Long expenseId;
+    private final Long submitterId;
+    private final Long managerId;
+    private final Set<Long> approverIds;
+
+    protected ExpenseEvent(Expense expense, Long... approverIds) {
+        this.expenseId = expense.getId();
+        this.submitterId = expense.getSubmitter().getId();
+        this.managerId = expense.getSubmitter().getManager() != null
+            ? expense.getSubmitter().getManager().getId() : null;
+        this.approverIds = Arrays.stream(approverIds)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
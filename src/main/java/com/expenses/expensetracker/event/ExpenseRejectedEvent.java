@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * The expense was rejected by the approver in approverIds.
+ */
+public class ExpenseRejectedEvent extends ExpenseEvent {
+    public ExpenseRejectedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * A new pending approval step was assigned; approverIds holds the new approver.
+ */
+public class ExpenseRoutedEvent extends ExpenseEvent {
+    public ExpenseRoutedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
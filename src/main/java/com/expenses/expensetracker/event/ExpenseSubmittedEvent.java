@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * An expense was submitted (or re-submitted) by its owner.
+ */
+public class ExpenseSubmittedEvent extends ExpenseEvent {
+    public ExpenseSubmittedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
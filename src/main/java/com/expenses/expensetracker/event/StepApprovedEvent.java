@@ -0,0 +1,12 @@
+package com.expenses.expensetracker.event;
+
+import com.expenses.expensetracker.entity.Expense;
+
+/**
+ * An approver approved their step; approverIds holds that approver and any next approver.
+ */
+public class StepApprovedEvent extends ExpenseEvent {
+    public StepApprovedEvent(Expense expense, Long... approverIds) {
+        super(expense, approverIds);
+    }
+}
@@ -0,0 +1,34 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base for the application's Flight Recorder events. Each one times a business operation (begin() when
+ * it starts, {@link #finish} when it ends) and records how it ended. Disabled events cost a flag check;
+ * enabled ones below their threshold are dropped without being written.
+ */
+@Category("Expense Tracker")
+public abstract class BusinessEvent extends Event {
+
+    public static final String SUCCESS = "success";
+    public static final String REFUSED = "refused";
+    public static final String ERROR = "error";
+
+    @Label("Outcome")
+    public String outcome;
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    // Refused: the request was invalid or the state did not allow it; error: anything else
+    public static String outcomeOf(Throwable failure) {
+        return failure instanceof IllegalArgumentException || failure instanceof IllegalStateException ? REFUSED : ERROR;
+    }
+}
@@ -0,0 +1,76 @@
+package com.expenses.expensetracker.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the business events in-process while the application runs: every event slower than the
+ * threshold is logged with its fields as it happens, and the last max-age of them stays in the JVM's
+ * recording repository for {@code jcmd <pid> JFR.dump}. Stack traces are not captured, which keeps the
+ * overhead to the timing itself. Enable with {@code expense.jfr.stream.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.jfr.stream.enabled", havingValue = "true")
+public class BusinessEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(BusinessEventStream.class);
+
+    private static final List<Class<? extends BusinessEvent>> EVENTS = List.of(
+        WorkflowTransitionEvent.class, ExchangeRateLookupEvent.class, OcrReceiptEvent.class,
+        ReceiptStoreEvent.class, UserLookupEvent.class, PasswordCheckEvent.class);
+
+    // Recorded for every event; not repeated in the log line
+    private static final Set<String> STANDARD_FIELDS = Set.of("startTime", "duration", "eventThread", "stackTrace");
+
+    private final Duration threshold;
+    private final Duration maxAge;
+    private RecordingStream stream;
+
+    public BusinessEventStream(@Value("${expense.jfr.stream.threshold-ms:50}") long thresholdMillis,
+                               @Value("${expense.jfr.stream.max-age-minutes:15}") long maxAgeMinutes) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        for (Class<? extends BusinessEvent> type : EVENTS) {
+            stream.enable(type).withThreshold(threshold).withoutStackTrace();
+            stream.onEvent(type.getAnnotation(Name.class).value(), this::logEvent);
+        }
+        stream.setMaxAge(maxAge);
+        stream.startAsync();
+        log.info("Streaming business flight recorder events slower than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void logEvent(RecordedEvent event) {
+        String fields = event.getFields().stream()
+            .filter(field -> !STANDARD_FIELDS.contains(field.getName()))
+            .map(field -> field.getName() + "=" + event.getValue(field.getName()))
+            .collect(Collectors.joining(" "));
+        log.info("{} took {} ms on {}: {}", event.getEventType().getLabel(), event.getDuration().toMillis(),
+            event.getThread() != null ? event.getThread().getJavaName() : "?", fields);
+    }
+}
@@ -0,0 +1,54 @@
+package com.expenses.expensetracker.jfr;
+
+/**
+ * The expense and company the current thread is working on, for events recorded deep in a call (a receipt
+ * write, an exchange rate lookup) that are not handed those ids themselves. Whoever already holds them
+ * opens a scope; ids not known when it opens can be filled in later without another query. Outside any
+ * scope, or when an id is unknown, events record 0.
+ */
+public final class EventContext {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private EventContext() {
+    }
+
+    public static Scope open(Long expenseId, Long companyId) {
+        long[] previous = CURRENT.get();
+        CURRENT.set(new long[] {orZero(expenseId), orZero(companyId)});
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // Called where the expense is loaded anyway; a no-op outside a scope
+    public static void companyLoaded(Long companyId) {
+        long[] ids = CURRENT.get();
+        if (ids != null && companyId != null) {
+            ids[1] = companyId;
+        }
+    }
+
+    public static long expenseId() {
+        long[] ids = CURRENT.get();
+        return ids == null ? 0 : ids[0];
+    }
+
+    public static long companyId() {
+        long[] ids = CURRENT.get();
+        return ids == null ? 0 : ids[1];
+    }
+
+    private static long orZero(Long id) {
+        return id == null ? 0 : id;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,25 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("expensetracker.ExchangeRateLookup")
+@Label("Exchange Rate Lookup")
+@Description("An exchange rate fetched from the rates API on a cache miss")
+public class ExchangeRateLookupEvent extends BusinessEvent {
+
+    @Label("From Currency")
+    public String fromCurrency;
+
+    @Label("To Currency")
+    public String toCurrency;
+
+    @Label("Expense Id")
+    @Description("0 when not tied to a single expense; cached rates are shared by every expense")
+    public long expenseId;
+
+    @Label("Company Id")
+    @Description("0 when not known")
+    public long companyId;
+}
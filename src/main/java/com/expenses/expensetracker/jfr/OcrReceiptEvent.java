@@ -0,0 +1,24 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("expensetracker.OcrReceipt")
+@Label("OCR Receipt")
+@Description("A receipt sent to the OCR API and parsed")
+public class OcrReceiptEvent extends BusinessEvent {
+
+    @Label("Receipt Size")
+    @DataAmount
+    public long receiptBytes;
+
+    @Label("Expense Id")
+    @Description("0 when not tied to a single expense")
+    public long expenseId;
+
+    @Label("Company Id")
+    @Description("0 when not known")
+    public long companyId;
+}
@@ -0,0 +1,16 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("expensetracker.PasswordCheck")
+@Label("Password Check")
+@Description("A password hashed or checked against its stored hash; outcome is success, mismatch or error")
+public class PasswordCheckEvent extends BusinessEvent {
+
+    public static final String MISMATCH = "mismatch";
+
+    @Label("Operation")
+    public String operation;
+}
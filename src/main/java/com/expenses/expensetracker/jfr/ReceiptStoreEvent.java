@@ -0,0 +1,27 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("expensetracker.ReceiptStore")
+@Label("Receipt Store")
+@Description("A receipt written to the upload directory")
+public class ReceiptStoreEvent extends BusinessEvent {
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Expense Id")
+    @Description("0 when not tied to a single expense")
+    public long expenseId;
+
+    @Label("Company Id")
+    @Description("0 when not known")
+    public long companyId;
+}
@@ -0,0 +1,22 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("expensetracker.UserLookup")
+@Label("User Lookup")
+@Description("A user loaded for authentication")
+@Threshold("5 ms")
+public class UserLookupEvent extends BusinessEvent {
+
+    @Label("Username")
+    public String username;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Company Id")
+    public long companyId;
+}
@@ -0,0 +1,27 @@
+package com.expenses.expensetracker.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("expensetracker.WorkflowTransition")
+@Label("Workflow Transition")
+@Description("One attempt at an approval workflow transition, including its transaction commit")
+@Threshold("10 ms")
+public class WorkflowTransitionEvent extends BusinessEvent {
+
+    @Label("Transition")
+    public String transition;
+
+    @Label("Expense Id")
+    @Description("0 for transitions over several expenses")
+    public long expenseId;
+
+    @Label("Company Id")
+    @Description("Company of the expense, 0 when it was never loaded or for transitions over several expenses")
+    public long companyId;
+
+    @Label("Attempt")
+    public int attempt;
+}
@@ -0,0 +1,115 @@
+package com.expenses.expensetracker.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call on one Spring Data repository, transaction included, as
+ * {@code expense.repository.calls{repository, method, outcome}}. Calls at or over the slow threshold are
+ * logged to {@code expense.db.slow-queries} with their parameters and the endpoint (or thread) that made them.
+ */
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+
+    public static final String TIMER = "expense.repository.calls";
+
+    private static final Logger slowQueries = LoggerFactory.getLogger("expense.db.slow-queries");
+    private static final int MAX_LOGGED_VALUES = 10;
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public RepositoryTimingInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry,
+                                       long slowThresholdMillis) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            Method method = invocation.getMethod();
+            timer(method, failed).record(nanos, TimeUnit.NANOSECONDS);
+            RequestDbStats stats = RequestDbStats.current();
+            if (stats != null) {
+                stats.repositoryCalled(nanos);
+            }
+            if (nanos >= slowThresholdNanos) {
+                slowQueries.warn("{}.{} took {} ms{} in {} with ({})", repository, method.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), failed ? " and failed" : "", caller(),
+                    parameters(invocation.getArguments()));
+            }
+        }
+    }
+
+    private Timer timer(Method method, boolean failed) {
+        if (failed) {
+            return timer(method, "error");
+        }
+        return successTimers.computeIfAbsent(method, m -> timer(m, "success"));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return meterRegistry.getObject().timer(TIMER, "repository", repository, "method", method.getName(), "outcome", outcome);
+    }
+
+    private static String caller() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return RequestDbStatsFilter.endpoint(attributes.getRequest());
+        }
+        return "thread " + Thread.currentThread().getName();
+    }
+
+    private static String parameters(Object[] arguments) {
+        StringJoiner joined = new StringJoiner(", ");
+        for (Object argument : arguments) {
+            joined.add(parameter(argument));
+        }
+        return joined.toString();
+    }
+
+    // Scalars as bound; entities by type only, so nothing they hold ends up in the log
+    private static String parameter(Object argument) {
+        if (argument == null || argument instanceof Number || argument instanceof CharSequence
+                || argument instanceof Enum<?> || argument instanceof Boolean || argument instanceof Temporal) {
+            return String.valueOf(argument);
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isPaged() ? "page " + pageable.getPageNumber() + " of " + pageable.getPageSize() : "unpaged";
+        }
+        if (argument instanceof Collection<?> values) {
+            if (values.size() > MAX_LOGGED_VALUES) {
+                return "[" + values.size() + " values]";
+            }
+            StringJoiner joined = new StringJoiner(", ", "[", "]");
+            values.forEach(value -> joined.add(parameter(value)));
+            return joined.toString();
+        }
+        return argument.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,71 @@
+package com.expenses.expensetracker.monitoring;
+
+import lombok.Getter;
+import org.slf4j.MDC;
+
+/**
+ * Database work done on behalf of one HTTP request: statements executed and their JDBC time, and repository
+ * calls and their time (which adds transaction and mapping overhead). Collected on the request thread
+ * between {@link #begin()} and {@link #end()}; work on other threads is not attributed. The running totals
+ * are kept in the MDC ({@code sql.count}, {@code sql.ms}, {@code repository.ms}), so every line the request
+ * logs carries the database work done so far.
+ */
+@Getter
+public final class RequestDbStats {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long sqlNanos;
+    private int repositoryCalls;
+    private long repositoryNanos;
+
+    public static RequestDbStats begin() {
+        RequestDbStats stats = new RequestDbStats();
+        CURRENT.set(stats);
+        stats.publishSql();
+        stats.publishRepository();
+        return stats;
+    }
+
+    // Null outside a request
+    public static RequestDbStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+        MDC.remove("sql.count");
+        MDC.remove("sql.ms");
+        MDC.remove("repository.ms");
+    }
+
+    void sqlExecuted(long nanos) {
+        statements++;
+        sqlNanos += nanos;
+        publishSql();
+    }
+
+    void repositoryCalled(long nanos) {
+        repositoryCalls++;
+        repositoryNanos += nanos;
+        publishRepository();
+    }
+
+    private void publishSql() {
+        MDC.put("sql.count", String.valueOf(statements));
+        MDC.put("sql.ms", String.valueOf(getSqlMillis()));
+    }
+
+    private void publishRepository() {
+        MDC.put("repository.ms", String.valueOf(getRepositoryMillis()));
+    }
+
+    public long getSqlMillis() {
+        return sqlNanos / 1_000_000;
+    }
+
+    public long getRepositoryMillis() {
+        return repositoryNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,78 @@
+package com.expenses.expensetracker.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Collects {@link RequestDbStats} for every request, including the security filters' user lookups, and logs
+ * the totals of requests that touched the database to {@code expense.db.requests}: at INFO when their SQL
+ * time reaches {@code expense.db.request-log-threshold-ms}, otherwise at DEBUG. The totals are in the MDC
+ * while the request runs, for structured log output.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestDbStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger requestLog = LoggerFactory.getLogger("expense.db.requests");
+
+    private final long thresholdMillis;
+
+    public RequestDbStatsFilter(@Value("${expense.db.request-log-threshold-ms:500}") long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDbStats stats = RequestDbStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            try {
+                if (stats.getStatements() > 0 || stats.getRepositoryCalls() > 0) {
+                    log(request, response, stats);
+                }
+            } finally {
+                RequestDbStats.end();
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, RequestDbStats stats) {
+        boolean slow = stats.getSqlMillis() >= thresholdMillis;
+        if (!slow && !requestLog.isDebugEnabled()) {
+            return;
+        }
+        String format = "{} -> {}: {} statements in {} ms, {} repository calls in {} ms";
+        Object[] args = {endpoint(request), response.getStatus(), stats.getStatements(), stats.getSqlMillis(),
+            stats.getRepositoryCalls(), stats.getRepositoryMillis()};
+        if (slow) {
+            requestLog.info(format, args);
+        } else {
+            requestLog.debug(format, args);
+        }
+    }
+
+    // "GET /expenses/{id} (ExpenseController#viewExpense)" once a handler is chosen, else the raw URI
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            endpoint += " (" + handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName() + ")";
+        }
+        return endpoint;
+    }
+}
@@ -0,0 +1,40 @@
+package com.expenses.expensetracker.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds each JDBC execution (a query, an update or one batch) to the current request's totals. Hibernate
+ * creates one per session from {@code hibernate.session.events.auto}; executions within a session are
+ * sequential, so a single start time is enough.
+ */
+public class SqlExecutionListener extends BaseSessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        RequestDbStats stats = RequestDbStats.current();
+        if (stats != null) {
+            stats.sqlExecuted(System.nanoTime() - startedAt);
+        }
+    }
+}
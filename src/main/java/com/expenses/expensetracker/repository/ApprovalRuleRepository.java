@@ -1,6 +1,7 @@
 package com.expenses.expensetracker.repository;
 
 import com.expenses.expensetracker.entity.ApprovalRule;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,14 @@ import java.util.Optional;
 public interface ApprovalRuleRepository extends JpaRepository<ApprovalRule, Long> {
     List<ApprovalRule> findByCompanyId(Long companyId);
 
+    // Plan compilation - every rule of a company with its approver sequence in one statement
+    @Query("SELECT DISTINCT r FROM ApprovalRule r LEFT JOIN FETCH r.approvers WHERE r.company.id = :companyId")
+    List<ApprovalRule> findWithApproversByCompanyId(@Param("companyId") Long companyId);
+
+    @Query("SELECT r.cfoApprover.id FROM ApprovalRule r WHERE r.company.id = :companyId " +
+           "AND r.cfoApprover IS NOT NULL ORDER BY r.id")
+    List<Long> findCfoApproverIds(@Param("companyId") Long companyId, Pageable limit);
+
     @Query("SELECT r FROM ApprovalRule r WHERE r.company.id = :companyId " +
            "AND (:amount BETWEEN r.minAmount AND r.maxAmount OR r.minAmount IS NULL) " +
            "ORDER BY r.minAmount ASC NULLS LAST LIMIT 1")
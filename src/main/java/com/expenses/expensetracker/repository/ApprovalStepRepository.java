@@ -1,9 +1,14 @@
 package com.expenses.expensetracker.repository;
 
+import com.expenses.expensetracker.dto.ReminderRow;
 import com.expenses.expensetracker.entity.ApprovalStep;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +17,6 @@ public interface ApprovalStepRepository extends JpaRepository<ApprovalStep, Long
     List<ApprovalStep> findByExpenseIdOrderBySequence(Long expenseId);
     Optional<ApprovalStep> findByExpenseIdAndApproverId(Long expenseId, Long approverId);
 
-    // Fix: Add the missing method that ExpenseRepository is trying to use
-    @Query("SELECT s.expense FROM ApprovalStep s WHERE s.approver.id = :approverId AND s.status = 'PENDING'")
-    List<com.expenses.expensetracker.entity.Expense> findExpensesByCurrentApproverId(@Param("approverId") Long approverId);
-
     // Additional methods needed by services
     @Query("SELECT COUNT(s) FROM ApprovalStep s WHERE s.expense.id = :expenseId")
     long countByExpenseId(@Param("expenseId") Long expenseId);
@@ -24,8 +25,52 @@ public interface ApprovalStepRepository extends JpaRepository<ApprovalStep, Long
     long countByExpenseIdAndStatus(@Param("expenseId") Long expenseId, @Param("status") ApprovalStep.ApprovalStepStatus status);
 
     boolean existsByExpenseIdAndStatus(Long expenseId, ApprovalStep.ApprovalStepStatus status);
+    boolean existsByExpenseIdAndApproverIdAndStatus(Long expenseId, Long approverId, ApprovalStep.ApprovalStepStatus status);
 
     // Find current pending step for an expense
     @Query("SELECT s FROM ApprovalStep s WHERE s.expense.id = :expenseId AND s.status = 'PENDING' ORDER BY s.sequence ASC")
     Optional<ApprovalStep> findCurrentPendingStep(@Param("expenseId") Long expenseId);
+
+    // All steps of several expenses at once, grouped by expense in workflow order
+    @Query("SELECT s FROM ApprovalStep s WHERE s.expense.id IN :expenseIds ORDER BY s.expense.id, s.sequence")
+    List<ApprovalStep> findByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
+
+    // Reminders - steps whose clock passed the cutoff, walked in (lastReminderDate, id) keyset order
+    // over idx_step_status_reminder
+    @Query("SELECT new com.expenses.expensetracker.dto.ReminderRow(s.id, s.lastReminderDate, a.id, a.username, a.email, " +
+           "e.id, e.description, e.amount, e.currency, e.submittedAt) " +
+           "FROM ApprovalStep s JOIN s.approver a JOIN s.expense e " +
+           "WHERE s.status = :status AND s.lastReminderDate < :cutoff " +
+           "AND s.lastReminderDate >= :cursorAt AND (s.lastReminderDate > :cursorAt OR s.id > :cursorId) " +
+           "ORDER BY s.lastReminderDate ASC, s.id ASC")
+    List<ReminderRow> findDueReminders(@Param("status") ApprovalStep.ApprovalStepStatus status,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       @Param("cursorAt") LocalDateTime cursorAt,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable limit);
+
+    @Query("SELECT COUNT(s) FROM ApprovalStep s WHERE s.status = :status AND s.lastReminderDate < :cutoff")
+    long countDueReminders(@Param("status") ApprovalStep.ApprovalStepStatus status,
+                           @Param("cutoff") LocalDateTime cutoff);
+
+    // One UPDATE per chunk, claiming the steps that are still due: steps acted on or reminded by another
+    // run since they were read keep their state
+    @Modifying
+    @Query("UPDATE ApprovalStep s SET s.reminderSent = true, s.lastReminderDate = :sentAt " +
+           "WHERE s.id IN :ids AND s.status = :status AND s.lastReminderDate < :cutoff")
+    int markReminded(@Param("ids") Collection<Long> ids,
+                     @Param("status") ApprovalStep.ApprovalStepStatus status,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("sentAt") LocalDateTime sentAt);
+
+    // The steps of a chunk this run's markReminded claimed, for the rare chunk where it claimed fewer than it read
+    @Query("SELECT s.id FROM ApprovalStep s WHERE s.id IN :ids AND s.lastReminderDate = :sentAt")
+    List<Long> findRemindedAt(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    // Pending steps from before the reminder clock existed have none; they are due at once
+    @Modifying
+    @Query("UPDATE ApprovalStep s SET s.lastReminderDate = :clockStart " +
+           "WHERE s.status = :status AND s.lastReminderDate IS NULL")
+    int startReminderClocks(@Param("status") ApprovalStep.ApprovalStepStatus status,
+                            @Param("clockStart") LocalDateTime clockStart);
 }
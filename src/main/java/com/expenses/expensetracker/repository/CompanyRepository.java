@@ -2,6 +2,11 @@ package com.expenses.expensetracker.repository;
 
 import com.expenses.expensetracker.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
+
+    @Query("SELECT c FROM Company c WHERE c.escalationSlaHours IS NOT NULL")
+    List<Company> findWithEscalationSla();
 }
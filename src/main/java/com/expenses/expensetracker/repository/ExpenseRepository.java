@@ -1,20 +1,58 @@
 package com.expenses.expensetracker.repository;
 
+import com.expenses.expensetracker.dto.EscalationCandidate;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.ReportRow;
+import com.expenses.expensetracker.dto.StatusCount;
 import com.expenses.expensetracker.entity.Expense;
 import com.expenses.expensetracker.entity.ExpenseStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+
+    // Keyset (seek) pagination on (submittedAt, id), newest first. The cursor is the last row of the
+    // previous page; the first page passes a cursor past the end of time so the same range scan is used.
+    String KEYSET_FILTERS =
+        "e.submittedAt <= :cursorAt AND (e.submittedAt < :cursorAt OR e.id < :cursorId) " +
+        "AND (:status IS NULL OR e.status = :status) " +
+        "AND (:category IS NULL OR e.category = :category) " +
+        "AND e.date BETWEEN :fromDate AND :toDate " +
+        "AND (:search IS NULL OR LOWER(e.description) LIKE :search ESCAPE '!')";
+
+    String KEYSET_ORDER = " ORDER BY e.submittedAt DESC, e.id DESC";
+
+    // Spend reports - totals are in the company base currency; rows converted before base amounts were
+    // recorded fall back to the original amount (same-currency expenses have a rate of 1)
+    String REPORT_SUM = "COUNT(e), SUM(COALESCE(e.baseCurrencyAmount, e.amount))) ";
+    String REPORT_FROM = "FROM Expense e JOIN e.company c ";
+    String REPORT_RANGE = "WHERE e.date BETWEEN :from AND :to ";
+    // Spend groupings leave out expenses that were never spent or were refused (drafts, rejections); the
+    // status breakdown keeps every status
+    String REPORT_SPEND = REPORT_RANGE + "AND e.status NOT IN :excluded ";
+
+    // Constructor projection shared by list and inbox queries; expects the submitter joined as "s"
+    String LIST_ROW_SELECT =
+        "SELECT new com.expenses.expensetracker.dto.ExpenseListRow(" +
+        "e.id, e.date, e.description, e.category, e.amount, e.currency, e.baseCurrencyAmount, " +
+        "e.status, e.submittedAt, s.username, e.company.defaultCurrency) ";
+
     // For employee role
     @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.submitter LEFT JOIN FETCH e.company WHERE e.submitter.id = :submitterId ORDER BY e.submittedAt DESC")
     List<Expense> findBySubmitterId(@Param("submitterId") Long submitterId);
 
-    // For manager/approver role
-    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.approvalSteps s LEFT JOIN FETCH s.approver WHERE s.approver.id = :approverId AND s.status = 'PENDING' ORDER BY e.submittedAt ASC")
-    List<Expense> findByCurrentApproverId(@Param("approverId") Long approverId);
+    // For manager/approver role - served by idx_expense_current_approver
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.submitter WHERE e.currentApprover.id = :approverId AND e.status IN :statuses ORDER BY e.submittedAt ASC")
+    List<Expense> findByCurrentApproverId(@Param("approverId") Long approverId, @Param("statuses") List<ExpenseStatus> statuses);
 
     // For status-based queries
     @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.submitter WHERE e.submitter.id = :submitterId AND e.status = :status ORDER BY e.submittedAt DESC")
@@ -34,4 +72,138 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     @Query("SELECT COUNT(e) FROM Expense e WHERE e.submitter.id = :submitterId")
     Long countBySubmitterId(@Param("submitterId") Long submitterId);
+
+    // Keyset pages - admin (all expenses)
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s WHERE " + KEYSET_FILTERS + KEYSET_ORDER)
+    List<ExpenseListRow> findPage(@Param("cursorAt") LocalDateTime cursorAt,
+                                  @Param("cursorId") Long cursorId,
+                                  @Param("status") ExpenseStatus status,
+                                  @Param("category") String category,
+                                  @Param("fromDate") LocalDate fromDate,
+                                  @Param("toDate") LocalDate toDate,
+                                  @Param("search") String search,
+                                  Pageable limit);
+
+    // Keyset pages - employee (own expenses)
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s WHERE s.id = :submitterId AND " + KEYSET_FILTERS + KEYSET_ORDER)
+    List<ExpenseListRow> findPageBySubmitter(@Param("submitterId") Long submitterId,
+                                             @Param("cursorAt") LocalDateTime cursorAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("status") ExpenseStatus status,
+                                             @Param("category") String category,
+                                             @Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate,
+                                             @Param("search") String search,
+                                             Pageable limit);
+
+    // Keyset pages - manager (team expenses)
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s WHERE s.manager.id = :managerId AND " + KEYSET_FILTERS + KEYSET_ORDER)
+    List<ExpenseListRow> findTeamPage(@Param("managerId") Long managerId,
+                                      @Param("cursorAt") LocalDateTime cursorAt,
+                                      @Param("cursorId") Long cursorId,
+                                      @Param("status") ExpenseStatus status,
+                                      @Param("category") String category,
+                                      @Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate,
+                                      @Param("search") String search,
+                                      Pageable limit);
+
+    // Admin inbox - every expense still in an approval state, oldest first, one range scan per status on
+    // idx_expense_status_submitted
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s " +
+           "WHERE e.status IN :statuses " +
+           "AND e.submittedAt >= :cursorAt AND (e.submittedAt > :cursorAt OR e.id > :cursorId) " +
+           "ORDER BY e.submittedAt ASC, e.id ASC")
+    List<ExpenseListRow> findPendingPage(@Param("statuses") List<ExpenseStatus> statuses,
+                                         @Param("cursorAt") LocalDateTime cursorAt,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable limit);
+
+    // Dashboard aggregates - served from the status / (status, completed_at) indexes
+    @Query("SELECT new com.expenses.expensetracker.dto.StatusCount(e.status, COUNT(e)) FROM Expense e GROUP BY e.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT COUNT(e) FROM Expense e WHERE e.status IN :statuses AND e.completedAt >= :from AND e.completedAt < :to")
+    long countCompletedBetween(@Param("statuses") List<ExpenseStatus> statuses,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    // Top-N by submission time; walks idx_expense_submitted backwards and stops after the limit
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s WHERE e.submittedAt IS NOT NULL" + KEYSET_ORDER)
+    List<ExpenseListRow> findRecentRows(Pageable limit);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.ReportRow(c.name, c.defaultCurrency, " + REPORT_SUM +
+           REPORT_FROM + REPORT_SPEND + "GROUP BY c.id, c.name, c.defaultCurrency ORDER BY c.name")
+    List<ReportRow> sumByCompany(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                 @Param("excluded") List<ExpenseStatus> excluded);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.ReportRow(e.category, c.defaultCurrency, " + REPORT_SUM +
+           REPORT_FROM + REPORT_SPEND + "GROUP BY e.category, c.defaultCurrency ORDER BY e.category")
+    List<ReportRow> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("excluded") List<ExpenseStatus> excluded);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.ReportRow(e.status, c.defaultCurrency, " + REPORT_SUM +
+           REPORT_FROM + REPORT_RANGE + "GROUP BY e.status, c.defaultCurrency ORDER BY e.status")
+    List<ReportRow> sumByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.ReportRow(s.username, c.defaultCurrency, " + REPORT_SUM +
+           REPORT_FROM + "JOIN e.submitter s " + REPORT_SPEND +
+           "GROUP BY s.id, s.username, c.defaultCurrency ORDER BY SUM(COALESCE(e.baseCurrencyAmount, e.amount)) DESC")
+    List<ReportRow> sumBySubmitter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                   @Param("excluded") List<ExpenseStatus> excluded, Pageable limit);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.ReportRow(YEAR(e.date), MONTH(e.date), c.defaultCurrency, " + REPORT_SUM +
+           REPORT_FROM + REPORT_SPEND + "GROUP BY YEAR(e.date), MONTH(e.date), c.defaultCurrency ORDER BY YEAR(e.date), MONTH(e.date)")
+    List<ReportRow> sumByMonth(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                               @Param("excluded") List<ExpenseStatus> excluded);
+
+    // Approver inbox, oldest first, as range scans on (current_approver_id, status, submitted_at)
+    @Query(LIST_ROW_SELECT + "FROM Expense e JOIN e.submitter s " +
+           "WHERE e.currentApprover.id = :approverId AND e.status IN :statuses " +
+           "AND e.submittedAt >= :cursorAt AND (e.submittedAt > :cursorAt OR e.id > :cursorId) " +
+           "ORDER BY e.submittedAt ASC, e.id ASC")
+    List<ExpenseListRow> findInboxPage(@Param("approverId") Long approverId,
+                                       @Param("statuses") List<ExpenseStatus> statuses,
+                                       @Param("cursorAt") LocalDateTime cursorAt,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable limit);
+
+    @Query("SELECT COUNT(e) FROM Expense e WHERE e.currentApprover.id = :approverId AND e.status IN :statuses")
+    long countInbox(@Param("approverId") Long approverId, @Param("statuses") List<ExpenseStatus> statuses);
+
+    // Bulk actions - the id list filtered down to what the approver may act on, in one statement
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter JOIN FETCH e.company " +
+           "WHERE e.id IN :ids AND e.currentApprover.id = :approverId AND e.status IN :statuses ORDER BY e.id")
+    List<Expense> findActionableByApprover(@Param("ids") Collection<Long> ids,
+                                           @Param("approverId") Long approverId,
+                                           @Param("statuses") List<ExpenseStatus> statuses);
+
+    // In company currency: expenses submitted in other currencies count at their converted amount
+    @Query("SELECT COALESCE(SUM(COALESCE(e.baseCurrencyAmount, e.amount)), 0) FROM Expense e " +
+           "WHERE e.currentApprover.id = :approverId AND e.status IN :statuses")
+    BigDecimal sumInboxAmount(@Param("approverId") Long approverId, @Param("statuses") List<ExpenseStatus> statuses);
+
+    // SLA escalation - one company's expenses whose current step started in [fromAt, toAt), walked in
+    // (lastActionAt, id) keyset order over idx_expense_company_action
+    @Query("SELECT new com.expenses.expensetracker.dto.EscalationCandidate(e.id, e.lastActionAt) FROM Expense e " +
+           "WHERE e.company.id = :companyId AND e.status IN :statuses " +
+           "AND e.lastActionAt >= :fromAt AND e.lastActionAt < :toAt " +
+           "AND e.lastActionAt >= :cursorAt AND (e.lastActionAt > :cursorAt OR e.id > :cursorId) " +
+           "ORDER BY e.lastActionAt ASC, e.id ASC")
+    List<EscalationCandidate> findEscalationCandidates(@Param("companyId") Long companyId,
+                                                       @Param("statuses") List<ExpenseStatus> statuses,
+                                                       @Param("fromAt") LocalDateTime fromAt,
+                                                       @Param("toAt") LocalDateTime toAt,
+                                                       @Param("cursorAt") LocalDateTime cursorAt,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable limit);
+
+    // Row locks (SELECT ... FOR UPDATE), in id order, so concurrent escalations of the same expense serialize
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Expense e WHERE e.id IN :ids AND e.status IN :statuses ORDER BY e.id")
+    List<Expense> lockByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                        @Param("statuses") List<ExpenseStatus> statuses);
+
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter JOIN FETCH e.company WHERE e.id IN :ids")
+    List<Expense> findWithSubmitterAndCompany(@Param("ids") Collection<Long> ids);
 }
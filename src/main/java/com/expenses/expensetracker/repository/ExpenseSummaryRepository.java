@@ -0,0 +1,36 @@
+package com.expenses.expensetracker.repository;
+
+import com.expenses.expensetracker.dto.SummaryTotals;
+import com.expenses.expensetracker.entity.ExpenseSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+
+public interface ExpenseSummaryRepository extends JpaRepository<ExpenseSummary, Long> {
+
+    @Query("SELECT s FROM ExpenseSummary s WHERE s.submitter.id = :submitterId")
+    List<ExpenseSummary> findBySubmitterId(@Param("submitterId") Long submitterId);
+
+    @Query("SELECT s FROM ExpenseSummary s WHERE s.submitter.manager.id = :managerId")
+    List<ExpenseSummary> findByManagerId(@Param("managerId") Long managerId);
+
+    // Reconciliation, one submitter at a time: lock their rows (in status, then company order, as transitions
+    // write them at commit), then compare them with totals recounted from the expenses table
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ExpenseSummary s WHERE s.submitter.id = :submitterId ORDER BY s.status, s.company.id")
+    List<ExpenseSummary> lockBySubmitterId(@Param("submitterId") Long submitterId);
+
+    @Query("SELECT new com.expenses.expensetracker.dto.SummaryTotals(e.company.id, e.status, COUNT(e), " +
+           "SUM(COALESCE(e.baseCurrencyAmount, e.amount))) " +
+           "FROM Expense e WHERE e.submitter.id = :submitterId GROUP BY e.company.id, e.status")
+    List<SummaryTotals> recountForSubmitter(@Param("submitterId") Long submitterId);
+
+    @Query("SELECT DISTINCT e.submitter.id FROM Expense e")
+    List<Long> findSubmitterIdsWithExpenses();
+
+    @Query("SELECT DISTINCT s.submitter.id FROM ExpenseSummary s")
+    List<Long> findSubmitterIdsWithSummaries();
+}
@@ -1,6 +1,7 @@
 package com.expenses.expensetracker.repository;
 
 import com.expenses.expensetracker.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,14 +9,26 @@ import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+    // Every authenticated request resolves its user; roles and company come in the same statement
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.company WHERE u.username = :username")
+    Optional<User> findByUsername(@Param("username") String username);
     boolean existsByUsername(String username);
 
     List<User> findByManagerId(Long managerId);
 
+    // User listings show roles, company and manager for every row
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.company LEFT JOIN FETCH u.manager ORDER BY u.username")
+    List<User> findAllWithDetails();
+
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
 
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     Optional<User> findFirstByRole(@Param("roleName") String roleName);
+
+    // Served by idx_user_roles_role and idx_user_company; returns ids only, without loading users or roles
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE u.company.id = :companyId AND r.name = :roleName ORDER BY u.id")
+    List<Long> findIdsByCompanyAndRole(@Param("companyId") Long companyId,
+                                       @Param("roleName") String roleName,
+                                       Pageable limit);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.expenses.expensetracker.security;
 
 import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.UserLookupEvent;
 import com.expenses.expensetracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,10 +23,23 @@ public class SecurityUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userService.findByUsername(username);
+        UserLookupEvent event = new UserLookupEvent();
+        event.username = username;
+        event.begin();
+        User user;
+        try {
+            user = userService.findByUsername(username);
+        } catch (RuntimeException e) {
+            event.finish(BusinessEvent.outcomeOf(e));
+            throw e;
+        }
         if (user == null) {
+            event.finish("not-found");
             throw new UsernameNotFoundException("User not found: " + username);
         }
+        event.userId = user.getId();
+        event.companyId = user.getCompany() != null ? user.getCompany().getId() : 0;
+        event.finish(BusinessEvent.SUCCESS);
         return new SecurityUserDetails(user);
     }
 
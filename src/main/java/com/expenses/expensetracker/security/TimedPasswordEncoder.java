@@ -0,0 +1,56 @@
+package com.expenses.expensetracker.security;
+
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.PasswordCheckEvent;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records each hash and check of the wrapped encoder as a PasswordCheckEvent, so BCrypt's deliberately
+ * slow work shows up by name in flight recordings of sign-in latency.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordCheckEvent event = start("encode");
+        try {
+            String encoded = delegate.encode(rawPassword);
+            event.finish(BusinessEvent.SUCCESS);
+            return encoded;
+        } catch (RuntimeException e) {
+            event.finish(BusinessEvent.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordCheckEvent event = start("matches");
+        try {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            event.finish(matches ? BusinessEvent.SUCCESS : PasswordCheckEvent.MISMATCH);
+            return matches;
+        } catch (RuntimeException e) {
+            event.finish(BusinessEvent.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static PasswordCheckEvent start(String operation) {
+        PasswordCheckEvent event = new PasswordCheckEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,13 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ApprovalPlan;
+
+public interface ApprovalPlanService {
+    // Rebuilt per company after rule changes commit; evicted (all entries) on user, role and approver changes
+    String CACHE_NAME = "approvalPlans";
+
+    ApprovalPlan getPlan(Long companyId);
+
+    // Compiles the plan from the current rules and replaces the cached one
+    ApprovalPlan rebuild(Long companyId);
+}
@@ -0,0 +1,11 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ReminderRunStats;
+
+public interface ApprovalReminderService {
+    // Remind approvers about every pending step whose reminder is due; one digest per approver
+    ReminderRunStats runReminders();
+
+    // Last run's figures with the current backlog
+    ReminderRunStats getStats();
+}
@@ -20,6 +20,9 @@ public interface ApprovalRuleService {
 
     // Rule application methods
     ApprovalRule findApplicableRule(Long companyId, BigDecimal amount);
+
+    // Overlapping or gapped amount bands among the company's rules
+    List<String> getRuleIssues(Long companyId);
     boolean isPercentageRuleMet(Long ruleId, Long expenseId);
 
     // Admin operations
@@ -1,6 +1,13 @@
 package com.expenses.expensetracker.service;
 
+import com.expenses.expensetracker.dto.BulkApprovalRequest;
+import com.expenses.expensetracker.dto.BulkApprovalResult;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.KeysetPage;
 import com.expenses.expensetracker.entity.Expense;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ApprovalWorkflowService {
@@ -29,6 +36,22 @@ public interface ApprovalWorkflowService {
     // Admin method to get all pending approvals across the system
     List<Expense> getAllPendingApprovals();
 
+    // Approver inbox backed by the denormalized current approver on expenses, oldest first, keyset-paged
+    long countPendingApprovalsForUser(Long approverId);
+    BigDecimal getPendingApprovalAmountForUser(Long approverId);
+    KeysetPage<ExpenseListRow> getPendingApprovalPage(Long approverId, LocalDateTime afterSubmittedAt, Long afterId, int size);
+
+    // Admin inbox: every expense awaiting approval, oldest first, keyset-paged the same way
+    KeysetPage<ExpenseListRow> getAllPendingApprovalPage(LocalDateTime afterSubmittedAt, Long afterId, int size);
+
+    // Approves or rejects many expenses in one transaction; one result per distinct id, in id order
+    List<BulkApprovalResult> processBulkAction(List<Long> expenseIds, Long approverId,
+                                               BulkApprovalRequest.Action action, String comments);
+
     void processAdminOverride(Long expenseId, Long adminId, String comments);
     void escalateExpense(Long expenseId, Long managerId, String escalationReason);
+
+    // SLA escalation: escalates those of the expenses still pending at manager/finance past their company's
+    // escalation SLA; returns how many were escalated
+    int escalateOverdue(Collection<Long> expenseIds);
 }
@@ -0,0 +1,10 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ApproverDirectory;
+
+public interface ApproverDirectoryService {
+    // Evicted (all entries) whenever users, their roles, or approval rules change
+    String CACHE_NAME = "approverDirectory";
+
+    ApproverDirectory getDirectory(Long companyId);
+}
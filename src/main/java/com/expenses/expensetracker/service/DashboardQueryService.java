@@ -0,0 +1,13 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.AdminDashboardStats;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import java.util.List;
+
+public interface DashboardQueryService {
+    // Aggregate counts for the admin dashboard cards
+    AdminDashboardStats getAdminStats();
+
+    // Most recently submitted expenses across the system
+    List<ExpenseListRow> getRecentExpenses(int limit);
+}
@@ -1,7 +1,13 @@
 package com.expenses.expensetracker.service;
 
+import com.expenses.expensetracker.dto.ExpenseFilter;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.KeysetPage;
 import com.expenses.expensetracker.entity.Expense;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.math.BigDecimal;
 
@@ -18,10 +24,20 @@ public interface ExpenseService {
     // Required for currency conversion
     BigDecimal convertToCompanyCurrency(Long expenseId);
 
+    // Bulk variant for list pages: one rate lookup per distinct (from, to) pair, keyed by expense id
+    Map<Long, BigDecimal> convertToCompanyCurrency(Collection<ExpenseListRow> expenses);
+
     // Admin method to get all expenses
     List<Expense> findAll();
 
     // Performance optimized methods
     List<Expense> getRecentExpenses(Long employeeId);
     Long getExpenseCount(Long employeeId);
+
+    // Keyset-paginated listings, newest first; pass the last row's submittedAt/id to get the next page
+    KeysetPage<ExpenseListRow> findPage(ExpenseFilter filter, LocalDateTime afterSubmittedAt, Long afterId, int size);
+    KeysetPage<ExpenseListRow> getEmployeeExpensePage(Long employeeId, ExpenseFilter filter,
+                                                      LocalDateTime afterSubmittedAt, Long afterId, int size);
+    KeysetPage<ExpenseListRow> getTeamExpensePage(Long managerId, ExpenseFilter filter,
+                                                  LocalDateTime afterSubmittedAt, Long afterId, int size);
 }
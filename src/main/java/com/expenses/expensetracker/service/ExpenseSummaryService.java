@@ -0,0 +1,17 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ExpenseTotals;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+
+public interface ExpenseSummaryService {
+    // Move the expense between status counters; previous is null for a newly created expense
+    void recordTransition(Expense expense, ExpenseStatus previous, ExpenseStatus next);
+
+    // Dashboard reads
+    ExpenseTotals getSubmitterTotals(Long submitterId);
+    ExpenseTotals getTeamTotals(Long managerId);
+
+    // Recount every submitter's counters from the expenses table; returns the number of summary rows corrected
+    int rebuild();
+}
@@ -0,0 +1,8 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ReminderDigest;
+
+public interface ReminderDigestSender {
+    // Deliver one approver's digest; failures are logged by the caller and do not stop the run
+    void send(ReminderDigest digest);
+}
@@ -0,0 +1,9 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ExpenseReport;
+import java.time.LocalDate;
+
+public interface ReportService {
+    // Spend by company, category, status, submitter and month for expenses dated within [from, to]
+    ExpenseReport buildReport(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,11 @@
+package com.expenses.expensetracker.service;
+
+import java.time.Duration;
+
+public interface SchedulerLeaseService {
+    // Acquire or renew the named lease for this node; false while another node holds it
+    boolean tryAcquire(String name, Duration ttl);
+
+    // Give the lease up early (shutdown) so another node can take over without waiting for it to lapse
+    void release(String name);
+}
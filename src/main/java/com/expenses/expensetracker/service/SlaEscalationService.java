@@ -0,0 +1,9 @@
+package com.expenses.expensetracker.service;
+
+public interface SlaEscalationService {
+    // One scheduler pass: hold the lease, load newly due deadlines, fire what has expired; returns escalations
+    int runDueEscalations();
+
+    // Timers currently held by this node (0 when another node holds the lease)
+    int getQueuedCount();
+}
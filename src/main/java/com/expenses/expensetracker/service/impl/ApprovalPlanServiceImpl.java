@@ -0,0 +1,109 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ApprovalPlan;
+import com.expenses.expensetracker.dto.ApproverDirectory;
+import com.expenses.expensetracker.entity.ApprovalRule;
+import com.expenses.expensetracker.entity.ApprovalStage;
+import com.expenses.expensetracker.entity.ApproverConfig;
+import com.expenses.expensetracker.repository.ApprovalRuleRepository;
+import com.expenses.expensetracker.service.ApprovalPlanService;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ApprovalPlanServiceImpl implements ApprovalPlanService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalPlanServiceImpl.class);
+
+    // Built-in routing: director sign-off over 50,000; manager submissions over 25,000 go to the director only.
+    // The director steps start strictly above their threshold, so no amount falls between finance and director
+    private static final BigDecimal DIRECTOR_THRESHOLD = new BigDecimal("50000");
+    private static final BigDecimal MANAGER_DIRECTOR_THRESHOLD = new BigDecimal("25000");
+    private static final BigDecimal MANAGER_FINANCE_LIMIT = new BigDecimal("25000");
+
+    private final ApprovalRuleRepository approvalRuleRepository;
+    private final ApproverDirectoryService approverDirectoryService;
+
+    public ApprovalPlanServiceImpl(ApprovalRuleRepository approvalRuleRepository,
+                                   ApproverDirectoryService approverDirectoryService) {
+        this.approvalRuleRepository = approvalRuleRepository;
+        this.approverDirectoryService = approverDirectoryService;
+    }
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "#companyId")
+    public ApprovalPlan getPlan(Long companyId) {
+        return compile(companyId);
+    }
+
+    @Override
+    @CachePut(value = CACHE_NAME, key = "#companyId")
+    public ApprovalPlan rebuild(Long companyId) {
+        return compile(companyId);
+    }
+
+    private ApprovalPlan compile(Long companyId) {
+        ApproverDirectory directory = approverDirectoryService.getDirectory(companyId);
+
+        // Same precedence as findFirstByCompanyIdAndAmountRange: lowest minimum first, open minimums last
+        List<ApprovalPlan.Band> bands = approvalRuleRepository.findWithApproversByCompanyId(companyId).stream()
+            .sorted(Comparator.comparing(ApprovalRule::getMinAmount, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ApprovalRule::getId))
+            .map(rule -> compile(rule, directory))
+            .toList();
+
+        ApprovalPlan.Band defaultBand = new ApprovalPlan.Band(null, null, null, List.of(
+                new ApprovalPlan.Step(ApprovalStage.MANAGER, null, null, null),
+                new ApprovalPlan.Step(ApprovalStage.FINANCE, directory.getFinanceApproverId(), null, null),
+                ApprovalPlan.Step.above(ApprovalStage.DIRECTOR, directory.getDirectorApproverId(), DIRECTOR_THRESHOLD)),
+            100, null, false, true);
+
+        ApprovalPlan.Band managerSubmissionBand = new ApprovalPlan.Band(null, null, null, List.of(
+                new ApprovalPlan.Step(ApprovalStage.FINANCE, directory.getFinanceApproverId(), null, MANAGER_FINANCE_LIMIT),
+                ApprovalPlan.Step.above(ApprovalStage.DIRECTOR, directory.getDirectorApproverId(), MANAGER_DIRECTOR_THRESHOLD)),
+            100, null, false, true);
+
+        ApprovalPlan plan = new ApprovalPlan(companyId, bands, defaultBand, managerSubmissionBand);
+        plan.getIssues().forEach(issue -> log.warn("Approval rules for company {}: {}", companyId, issue));
+        return plan;
+    }
+
+    private ApprovalPlan.Band compile(ApprovalRule rule, ApproverDirectory directory) {
+        List<ApprovalPlan.Step> steps = rule.getApprovers().stream()
+            .sorted(Comparator.comparing(ApproverConfig::getSequence))
+            .map(config -> step(config, directory))
+            .toList();
+
+        return new ApprovalPlan.Band(rule.getId(), rule.getMinAmount(), rule.getMaxAmount(), steps,
+            rule.getRequiredPercentage(),
+            rule.getCfoApprover() != null ? rule.getCfoApprover().getId() : null,
+            rule.isHybridRule(), rule.isPercentageOrCfo());
+    }
+
+    // Manager steps follow the submitter's reporting line; configs without a role flag approve at finance stage
+    private ApprovalPlan.Step step(ApproverConfig config, ApproverDirectory directory) {
+        ApprovalStage stage;
+        Long approverId = config.getApprover() != null ? config.getApprover().getId() : null;
+        if (config.isManagerStep()) {
+            stage = ApprovalStage.MANAGER;
+            approverId = null;
+        } else if (config.isCfoStep()) {
+            stage = ApprovalStage.CFO;
+            approverId = approverId != null ? approverId : directory.getCfoApproverId();
+        } else if (config.isDirectorStep()) {
+            stage = ApprovalStage.DIRECTOR;
+        } else {
+            stage = ApprovalStage.FINANCE;
+        }
+        return new ApprovalPlan.Step(stage, approverId, config.getMinAmount(), config.getMaxAmount());
+    }
+}
@@ -0,0 +1,212 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ReminderDigest;
+import com.expenses.expensetracker.dto.ReminderRow;
+import com.expenses.expensetracker.dto.ReminderRunStats;
+import com.expenses.expensetracker.entity.ApprovalStep;
+import com.expenses.expensetracker.repository.ApprovalStepRepository;
+import com.expenses.expensetracker.service.ApprovalReminderService;
+import com.expenses.expensetracker.service.ReminderDigestSender;
+import com.expenses.expensetracker.service.SchedulerLeaseService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class ApprovalReminderServiceImpl implements ApprovalReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalReminderServiceImpl.class);
+
+    static final String LEASE_NAME = "approval-reminders";
+
+    private static final ApprovalStep.ApprovalStepStatus PENDING = ApprovalStep.ApprovalStepStatus.PENDING;
+    private static final LocalDateTime CLOCK_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    // Chunk ids go into a single IN list, which Oracle caps at 1000 entries
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private final ApprovalStepRepository approvalStepRepository;
+    private final ReminderDigestSender digestSender;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalHours;
+    private final Duration leaseTtl;
+    private final int chunkSize;
+    private final int digestItems;
+    private final Timer runTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReminderRunStats lastRun = new ReminderRunStats(null, 0, 0, 0, 0, 0, 0);
+
+    public ApprovalReminderServiceImpl(ApprovalStepRepository approvalStepRepository,
+                                       ReminderDigestSender digestSender,
+                                       SchedulerLeaseService leaseService,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${expense.reminders.interval-hours:24}") long intervalHours,
+                                       @Value("${expense.reminders.lease-seconds:300}") long leaseSeconds,
+                                       @Value("${expense.reminders.chunk-size:1000}") int chunkSize,
+                                       @Value("${expense.reminders.digest-items:20}") int digestItems) {
+        this.approvalStepRepository = approvalStepRepository;
+        this.digestSender = digestSender;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalHours = intervalHours;
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        this.digestItems = digestItems;
+        this.runTimer = Timer.builder("expense.reminders.run")
+            .description("Duration of reminder sweeps this node ran")
+            .register(meterRegistry);
+        // The backlog counted at the end of this node's last sweep; scrapes read it without querying
+        Gauge.builder("expense.reminders.backlog", this, service -> service.lastRun.getBacklog())
+            .description("Pending approval steps due a reminder after the last sweep on this node")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${expense.reminders.cron:0 0 * * * *}")
+    public void sendDueReminders() {
+        runReminders();
+    }
+
+    // Each chunk is read and flagged in its own short transaction, so a run over hundreds of thousands of
+    // steps holds neither a long transaction nor the rows themselves; only one digest per approver is kept.
+    // Flags are committed before the digests go out, so a failed delivery skips one reminder, never repeats one.
+    // One node runs the sweep under the scheduler lease, renewed between chunks; the flag UPDATE is also a
+    // claim, so a run that overlaps anyway (a lapsed lease) digests only the steps it flagged itself
+    @Override
+    public ReminderRunStats runReminders() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Reminder run already in progress; skipping");
+            return lastRun;
+        }
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            running.set(false);
+            log.debug("Reminder lease held by another node; skipping");
+            return lastRun;
+        }
+        try {
+            // Truncated to what the column stores, so the claim can be read back by equality
+            LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            long started = System.nanoTime();
+            LocalDateTime cutoff = startedAt.minusHours(intervalHours);
+
+            // Steps left pending by releases before the reminder clock have a null clock the range scan
+            // never reaches; they start at CLOCK_START, so they are due in this run
+            Integer clocksStarted = transactionTemplate.execute(status ->
+                approvalStepRepository.startReminderClocks(PENDING, CLOCK_START));
+            if (clocksStarted != null && clocksStarted > 0) {
+                log.info("Started the reminder clock on {} pending steps", clocksStarted);
+            }
+
+            Map<Long, ReminderDigest> digests = new LinkedHashMap<>();
+            LocalDateTime cursorAt = CLOCK_START;
+            Long cursorId = 0L;
+            int chunks = 0;
+            long reminded = 0;
+            List<ReminderRow> claimed = new ArrayList<>(chunkSize);
+            while (true) {
+                claimed.clear();
+                List<ReminderRow> rows = remindChunk(cutoff, cursorAt, cursorId, startedAt, claimed);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                chunks++;
+                reminded += claimed.size();
+                for (ReminderRow row : claimed) {
+                    digests.computeIfAbsent(row.getApproverId(),
+                            id -> new ReminderDigest(id, row.getApproverName(), row.getApproverEmail()))
+                        .add(row, digestItems);
+                }
+                ReminderRow last = rows.get(rows.size() - 1);
+                cursorAt = last.getLastReminderDate();
+                cursorId = last.getStepId();
+                if (rows.size() < chunkSize) {
+                    break;
+                }
+                if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                    log.warn("Reminder lease lost after {} chunks; the rest is left to the next run", chunks);
+                    break;
+                }
+            }
+
+            int sent = 0, failed = 0;
+            for (ReminderDigest digest : digests.values()) {
+                try {
+                    digestSender.send(digest);
+                    sent++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("Reminder digest for approver {} failed: {}", digest.getApproverId(), e.getMessage());
+                }
+            }
+
+            long millis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Reminded {} pending steps in {} chunks; {} digests sent, {} failed, in {} ms",
+                reminded, chunks, sent, failed, millis);
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            lastRun = new ReminderRunStats(startedAt, millis, chunks, reminded, sent, failed, countBacklog());
+            return lastRun;
+        } finally {
+            leaseService.release(LEASE_NAME);
+            running.set(false);
+        }
+    }
+
+    @Override
+    public ReminderRunStats getStats() {
+        ReminderRunStats run = lastRun;
+        return new ReminderRunStats(run.getLastRunStartedAt(), run.getLastRunDurationMillis(), run.getLastRunChunks(),
+            run.getLastRunStepsReminded(), run.getLastRunDigestsSent(), run.getLastRunDigestFailures(), countBacklog());
+    }
+
+    private long countBacklog() {
+        return approvalStepRepository.countDueReminders(PENDING, LocalDateTime.now().minusHours(intervalHours));
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        leaseService.release(LEASE_NAME);
+    }
+
+    // The due steps of the next chunk and the subset this run claimed; the cursor moves over all of them
+    private List<ReminderRow> remindChunk(LocalDateTime cutoff, LocalDateTime cursorAt, Long cursorId,
+                                          LocalDateTime sentAt, List<ReminderRow> claimed) {
+        return transactionTemplate.execute(status -> {
+            List<ReminderRow> rows = approvalStepRepository.findDueReminders(PENDING, cutoff, cursorAt, cursorId,
+                PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            List<Long> ids = rows.stream().map(ReminderRow::getStepId).toList();
+            int updated = approvalStepRepository.markReminded(ids, PENDING, cutoff, sentAt);
+            if (updated == rows.size()) {
+                claimed.addAll(rows);
+            } else if (updated > 0) {
+                Set<Long> claimedIds = new HashSet<>(approvalStepRepository.findRemindedAt(ids, sentAt));
+                rows.stream().filter(row -> claimedIds.contains(row.getStepId())).forEach(claimed::add);
+            }
+            return rows;
+        });
+    }
+}
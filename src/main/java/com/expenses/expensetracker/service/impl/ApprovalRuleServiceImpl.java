@@ -1,13 +1,17 @@
 package com.expenses.expensetracker.service.impl;
 
+import com.expenses.expensetracker.dto.ApprovalPlan;
 import com.expenses.expensetracker.entity.ApprovalRule;
-import com.expenses.expensetracker.entity.ApprovalStep;
 import com.expenses.expensetracker.entity.ApproverConfig;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.event.ApprovalRulesChangedEvent;
 import com.expenses.expensetracker.repository.ApprovalRuleRepository;
-import com.expenses.expensetracker.repository.ApprovalStepRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
 import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.service.ApprovalPlanService;
 import com.expenses.expensetracker.service.ApprovalRuleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -22,15 +26,23 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
     private ApprovalRuleRepository approvalRuleRepository;
 
     @Autowired
-    private ApprovalStepRepository approvalStepRepository;
+    private ExpenseRepository expenseRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApprovalPlanService approvalPlanService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ApprovalRule createRule(ApprovalRule rule) {
         validateRule(rule);
-        return approvalRuleRepository.save(rule);
+        ApprovalRule saved = approvalRuleRepository.save(rule);
+        rulesChanged(saved);
+        return saved;
     }
 
     @Override
@@ -51,12 +63,23 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
         }
 
         approvalRuleRepository.save(rule);
+        rulesChanged(rule);
     }
 
+    // Served from the company's cached rule index; the returned rule is a lazy reference
     @Override
     public ApprovalRule findApplicableRule(Long companyId, BigDecimal amount) {
-        return approvalRuleRepository.findFirstByCompanyIdAndAmountRange(companyId, amount)
-            .orElseThrow(() -> new IllegalStateException("No applicable rule found"));
+        ApprovalPlan.Band band = approvalPlanService.getPlan(companyId).ruleBandFor(amount);
+        if (band == null) {
+            throw new IllegalStateException("No applicable rule found");
+        }
+        return approvalRuleRepository.getReferenceById(band.getRuleId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getRuleIssues(Long companyId) {
+        return approvalPlanService.getPlan(companyId).getIssues();
     }
 
     @Override
@@ -68,15 +91,11 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
             return false;
         }
 
-        long totalSteps = approvalStepRepository.countByExpenseId(expenseId);
-        if (totalSteps == 0) return false;
-
-        long approvedSteps = approvalStepRepository.countByExpenseIdAndStatus(
-            expenseId,
-            ApprovalStep.ApprovalStepStatus.APPROVED
-        );
+        Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        if (expense.getTotalSteps() == 0) return false;
 
-        return (approvedSteps * 100.0 / totalSteps) >= rule.getRequiredPercentage();
+        return (expense.getApprovedSteps() * 100.0 / expense.getTotalSteps()) >= rule.getRequiredPercentage();
     }
 
     @Override
@@ -103,14 +122,15 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
         }
 
         approvalRuleRepository.save(rule);
+        rulesChanged(rule);
     }
 
     @Override
     public void deleteRule(Long ruleId) {
-        if (!approvalRuleRepository.existsById(ruleId)) {
-            throw new IllegalArgumentException("Rule not found");
-        }
-        approvalRuleRepository.deleteById(ruleId);
+        ApprovalRule rule = approvalRuleRepository.findById(ruleId)
+            .orElseThrow(() -> new IllegalArgumentException("Rule not found"));
+        approvalRuleRepository.delete(rule);
+        rulesChanged(rule);
     }
 
     @Override
@@ -130,7 +150,9 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
 
     @Override
     public ApprovalRule updateApprovalRule(ApprovalRule rule) {
-        return approvalRuleRepository.save(rule);
+        ApprovalRule saved = approvalRuleRepository.save(rule);
+        rulesChanged(saved);
+        return saved;
     }
 
     @Override
@@ -138,6 +160,11 @@ public class ApprovalRuleServiceImpl implements ApprovalRuleService {
         deleteRule(ruleId);
     }
 
+    // The company's plan and rule index are rebuilt once this transaction commits
+    private void rulesChanged(ApprovalRule rule) {
+        eventPublisher.publishEvent(new ApprovalRulesChangedEvent(rule.getCompany().getId()));
+    }
+
     private void validateRule(ApprovalRule rule) {
         if (rule.getRequiredPercentage() != null) {
             if (rule.getRequiredPercentage() < 0 || rule.getRequiredPercentage() > 100) {
@@ -3,6 +3,7 @@ package com.expenses.expensetracker.service.impl;
 import com.expenses.expensetracker.entity.ApprovalStep;
 import com.expenses.expensetracker.entity.Expense;
 import com.expenses.expensetracker.repository.ApprovalStepRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
 import com.expenses.expensetracker.repository.UserRepository;
 import com.expenses.expensetracker.service.ApprovalStepService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,13 +23,16 @@ public class ApprovalStepServiceImpl implements ApprovalStepService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
     @Override
     public ApprovalStep createStepForExpense(Expense expense, Long approverId, int sequence) {
         ApprovalStep step = new ApprovalStep();
-        step.setExpense(expense);
         step.setApprover(userRepository.findById(approverId)
             .orElseThrow(() -> new IllegalArgumentException("Approver not found")));
         step.setSequence(sequence);
+        expense.addStep(step);
         return approvalStepRepository.save(step);
     }
 
@@ -58,14 +62,9 @@ public class ApprovalStepServiceImpl implements ApprovalStepService {
 
     @Override
     public int calculateApprovalPercentage(Long expenseId) {
-        List<ApprovalStep> steps = getStepsForExpense(expenseId);
-        if (steps.isEmpty()) return 0;
-
-        long approvedCount = steps.stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.APPROVED)
-            .count();
-
-        return (int) ((approvedCount * 100.0) / steps.size());
+        return expenseRepository.findById(expenseId)
+            .map(Expense::getApprovalPercentage)
+            .orElse(0);
     }
 
     @Override
@@ -87,6 +86,7 @@ public class ApprovalStepServiceImpl implements ApprovalStepService {
 
     @Override
     public ApprovalStep createApprovalStep(ApprovalStep step) {
+        step.getExpense().addStep(step);
         return approvalStepRepository.save(step);
     }
 
@@ -97,7 +97,10 @@ public class ApprovalStepServiceImpl implements ApprovalStepService {
 
     @Override
     public void deleteApprovalStep(Long stepId) {
-        approvalStepRepository.deleteById(stepId);
+        approvalStepRepository.findById(stepId).ifPresent(step -> {
+            step.getExpense().removeStep(step);
+            approvalStepRepository.delete(step);
+        });
     }
 
     @Override
@@ -1,20 +1,58 @@
 package com.expenses.expensetracker.service.impl;
 
+import com.expenses.expensetracker.dto.ApprovalPlan;
+import com.expenses.expensetracker.dto.ApproverDirectory;
+import com.expenses.expensetracker.dto.BulkApprovalRequest;
+import com.expenses.expensetracker.dto.BulkApprovalResult;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.KeysetPage;
 import com.expenses.expensetracker.entity.*;
+import com.expenses.expensetracker.event.*;
+import com.expenses.expensetracker.jfr.EventContext;
 import com.expenses.expensetracker.repository.*;
+import com.expenses.expensetracker.service.ApprovalPlanService;
 import com.expenses.expensetracker.service.ApprovalWorkflowService;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import com.expenses.expensetracker.service.ExpenseSummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.math.BigDecimal;
 
 @Service
 @Transactional
 public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
 
+    private static final List<ExpenseStatus> PENDING_STATUSES = List.of(
+        ExpenseStatus.SUBMITTED,
+        ExpenseStatus.PENDING_MANAGER,
+        ExpenseStatus.PENDING_FINANCE,
+        ExpenseStatus.PENDING_DIRECTOR,
+        ExpenseStatus.PENDING_ADDITIONAL_INFO
+    );
+
+    // Director-stage expenses are already at the top of the chain
+    private static final List<ExpenseStatus> ESCALATABLE_STATUSES = List.of(
+        ExpenseStatus.PENDING_MANAGER,
+        ExpenseStatus.PENDING_FINANCE
+    );
+
+    private static final LocalDateTime INBOX_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 500;
+
     @Autowired
     private ExpenseRepository expenseRepository;
 
@@ -24,175 +62,118 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
     @Autowired
     private UserRepository userRepository;
 
-    @Override
-    public void initiateWorkflow(Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+    @Autowired
+    private ExpenseSummaryService summaryService;
 
-        User submitter = expense.getSubmitter();
+    @Autowired
+    private ApproverDirectoryService approverDirectoryService;
 
-        // Check the role of the submitter to determine approval flow
-        if (submitter.hasRole("MANAGER")) {
-            // Manager submissions go directly to admin/finance for approval
-            User adminApprover = getFinanceApprover();
-            createApprovalStep(expense, adminApprover, 1);
-            expense.setStatus(ExpenseStatus.PENDING_FINANCE);
-        } else if (submitter.hasManager()) {
-            // Regular employee submissions go to their manager first
-            User manager = submitter.getManager();
-            createApprovalStep(expense, manager, 1);
-            expense.setStatus(ExpenseStatus.PENDING_MANAGER);
-        } else {
-            // Employees without managers go directly to finance
-            User financeApprover = getFinanceApprover();
-            createApprovalStep(expense, financeApprover, 1);
-            expense.setStatus(ExpenseStatus.PENDING_FINANCE);
-        }
+    @Autowired
+    private ApprovalPlanService approvalPlanService;
 
-        expenseRepository.save(expense);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void initiateWorkflow(Long expenseId) {
+        Expense expense = load(expenseId);
+
+        routeExpense(expense);
     }
 
     @Override
     public void initiateManagerExpenseWorkflow(Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
-
-        User submitter = expense.getSubmitter();
+        Expense expense = load(expenseId);
 
         // Verify the submitter is actually a manager
-        if (!submitter.hasRole("MANAGER")) {
+        if (!expense.getSubmitter().hasRole("MANAGER")) {
             throw new IllegalStateException("Only managers can use manager expense workflow");
         }
 
-        // For manager expenses, determine approval path based on amount
-        if (expense.getAmount().compareTo(new BigDecimal("25000")) > 0) {
-            // High-value manager expenses go directly to admin/director
-            User directorApprover = getDirectorApprover();
-            createApprovalStep(expense, directorApprover, 1);
-            expense.setStatus(ExpenseStatus.PENDING_DIRECTOR);
-        } else {
-            // Regular manager expenses go to admin/finance
-            User adminApprover = getFinanceApprover();
-            createApprovalStep(expense, adminApprover, 1);
-            expense.setStatus(ExpenseStatus.PENDING_FINANCE);
-        }
-
-        expenseRepository.save(expense);
+        routeExpense(expense);
     }
 
     @Override
     public void processManagerApproval(Long expenseId, Long managerId, String comments) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
-
-        validateApprover(expense, managerId, "MANAGER");
-
-        // Approve current step
-        ApprovalStep currentStep = getCurrentStep(expense);
-        currentStep.approve(comments);
-        approvalStepRepository.save(currentStep);
-
-        // Move to finance approval
-        User financeApprover = getFinanceApprover();
-        createApprovalStep(expense, financeApprover, 2);
-        expense.setStatus(ExpenseStatus.PENDING_FINANCE);
-        expenseRepository.save(expense);
+        approveCurrentStep(expenseId, managerId, "MANAGER", comments);
     }
 
     @Override
     public void processFinanceApproval(Long expenseId, Long financeId, String comments) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
-
-        validateApprover(expense, financeId, "FINANCE");
-
-        ApprovalStep currentStep = getCurrentStep(expense);
-        currentStep.approve(comments);
-        approvalStepRepository.save(currentStep);
-
-        if (needsDirectorApproval(expense)) {
-            User director = getDirectorApprover();
-            createApprovalStep(expense, director, 3);
-            expense.setStatus(ExpenseStatus.PENDING_DIRECTOR);
-        } else if (checkPercentageApproval(expenseId)) {
-            expense.setStatus(ExpenseStatus.APPROVED);
-        }
-
-        expenseRepository.save(expense);
+        approveCurrentStep(expenseId, financeId, "FINANCE", comments);
     }
 
     @Override
     public void processDirectorApproval(Long expenseId, Long directorId, String comments) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        approveCurrentStep(expenseId, directorId, "DIRECTOR", comments);
+    }
 
-        validateApprover(expense, directorId, "DIRECTOR");
+    private void approveCurrentStep(Long expenseId, Long approverId, String expectedRole, String comments) {
+        Expense expense = load(expenseId);
 
-        ApprovalStep currentStep = getCurrentStep(expense);
-        currentStep.approve(comments);
-        approvalStepRepository.save(currentStep);
+        if (alreadyActedOn(expense, approverId, ApprovalStep.ApprovalStepStatus.APPROVED)) {
+            return;
+        }
+        validateApprover(expense, approverId, expectedRole);
 
-        expense.setStatus(ExpenseStatus.APPROVED);
+        ApprovalStep currentStep = getCurrentStep(expense);
+        ExpenseEvent event = advance(expense, currentStep, expense.getApprovalSteps(), approverId, comments);
         expenseRepository.save(expense);
+        eventPublisher.publishEvent(event);
     }
 
     @Override
     public boolean processCFOApproval(Long expenseId, Long cfoId, String comments) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        Expense expense = load(expenseId);
 
         User cfo = userRepository.findById(cfoId)
             .orElseThrow(() -> new IllegalArgumentException("CFO not found"));
 
-        if (!isCFO(cfo)) {
+        if (!isCFO(expense, cfo)) {
             throw new IllegalStateException("Approver is not CFO");
         }
 
         ApprovalStep step = new ApprovalStep();
-        step.setExpense(expense);
         step.setApprover(cfo);
-        step.setSequence(1);
+        expense.addStep(step);
         step.approve(comments);
         approvalStepRepository.save(step);
 
-        expense.setStatus(ExpenseStatus.CFO_APPROVED);
+        skipOpenSteps(expense.getApprovalSteps(), "Not required: CFO approved");
+        complete(expense, ExpenseStatus.CFO_APPROVED);
         expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseApprovedEvent(expense, cfoId));
         return true;
     }
 
     @Override
     public void rejectExpense(Long expenseId, Long approverId, String reason) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        Expense expense = load(expenseId);
 
+        if (alreadyActedOn(expense, approverId, ApprovalStep.ApprovalStepStatus.REJECTED)) {
+            return;
+        }
         ApprovalStep currentStep = getCurrentStep(expense);
         if (!currentStep.getApprover().getId().equals(approverId)) {
             throw new IllegalStateException("Not authorized to reject this expense");
         }
 
-        currentStep.reject(reason);
-        approvalStepRepository.save(currentStep);
-
-        expense.setStatus(ExpenseStatus.REJECTED);
-        expense.setRejectionReason(reason);
+        ExpenseEvent event = applyRejection(expense, currentStep, expense.getApprovalSteps(), approverId, reason);
         expenseRepository.save(expense);
+        eventPublisher.publishEvent(event);
     }
 
     @Override
     public boolean checkPercentageApproval(Long expenseId) {
-        List<ApprovalStep> steps = approvalStepRepository.findByExpenseIdOrderBySequence(expenseId);
-        if (steps.isEmpty()) return false;
-
-        long approvedCount = steps.stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.APPROVED)
-            .count();
+        Expense expense = load(expenseId);
+        if (expense.getTotalSteps() == 0) return false;
 
-        return (approvedCount * 100.0 / steps.size()) >= 60; // 60% requirement
+        return (expense.getApprovedSteps() * 100.0 / expense.getTotalSteps()) >= 60; // 60% requirement
     }
 
     @Override
     public List<Expense> getPendingApprovalsForUser(Long approverId) {
-        return approvalStepRepository.findExpensesByCurrentApproverId(approverId);
+        return expenseRepository.findByCurrentApproverId(approverId, PENDING_STATUSES);
     }
 
     @Override
@@ -202,20 +183,14 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
 
     @Override
     public int calculateApprovalPercentage(Long expenseId) {
-        List<ApprovalStep> steps = approvalStepRepository.findByExpenseIdOrderBySequence(expenseId);
-        if (steps.isEmpty()) return 0;
-
-        long approvedCount = steps.stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.APPROVED)
-            .count();
-
-        return (int) ((approvedCount * 100.0) / steps.size());
+        return expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found"))
+            .getApprovalPercentage();
     }
 
     @Override
     public boolean isApprovalComplete(Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        Expense expense = load(expenseId);
         return expense.getStatus() == ExpenseStatus.APPROVED ||
                expense.getStatus() == ExpenseStatus.CFO_APPROVED ||
                expense.getStatus() == ExpenseStatus.REJECTED;
@@ -223,16 +198,168 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
 
     @Override
     public List<Expense> getAllPendingApprovals() {
-        return expenseRepository.findByStatusIn(List.of(
-            ExpenseStatus.SUBMITTED,
-            ExpenseStatus.PENDING_MANAGER,
-            ExpenseStatus.PENDING_FINANCE,
-            ExpenseStatus.PENDING_DIRECTOR,
-            ExpenseStatus.PENDING_ADDITIONAL_INFO
-        ));
+        return expenseRepository.findByStatusIn(PENDING_STATUSES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPendingApprovalsForUser(Long approverId) {
+        return expenseRepository.countInbox(approverId, PENDING_STATUSES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getPendingApprovalAmountForUser(Long approverId) {
+        return expenseRepository.sumInboxAmount(approverId, PENDING_STATUSES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ExpenseListRow> getPendingApprovalPage(Long approverId, LocalDateTime afterSubmittedAt,
+                                                             Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        boolean first = afterSubmittedAt == null || afterId == null;
+        return inboxPage(expenseRepository.findInboxPage(approverId, PENDING_STATUSES,
+            first ? INBOX_START : afterSubmittedAt, first ? 0L : afterId, PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ExpenseListRow> getAllPendingApprovalPage(LocalDateTime afterSubmittedAt, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        boolean first = afterSubmittedAt == null || afterId == null;
+        return inboxPage(expenseRepository.findPendingPage(PENDING_STATUSES,
+            first ? INBOX_START : afterSubmittedAt, first ? 0L : afterId, PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    // The query fetched one row past the page, which only says whether a next page exists
+    private KeysetPage<ExpenseListRow> inboxPage(List<ExpenseListRow> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<ExpenseListRow> content = hasNext ? rows.subList(0, pageSize) : rows;
+        ExpenseListRow last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return new KeysetPage<>(content, pageSize, hasNext,
+            last != null ? last.getSubmittedAt() : null,
+            last != null ? last.getId() : null);
+    }
+
+    @Override
+    public List<BulkApprovalResult> processBulkAction(List<Long> expenseIds, Long approverId,
+                                                      BulkApprovalRequest.Action action, String comments) {
+        if (action == null) {
+            throw new IllegalArgumentException("Bulk action is required");
+        }
+        if (action == BulkApprovalRequest.Action.REJECT && (comments == null || comments.isBlank())) {
+            throw new IllegalArgumentException("A reason is required to reject expenses");
+        }
+        List<Long> ids = expenseIds == null ? List.of() : expenseIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .toList();
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " expenses can be processed at once");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Authorization is the current-approver column: ids not returned here are missing or not the caller's
+        Map<Long, Expense> actionable = expenseRepository.findActionableByApprover(ids, approverId, PENDING_STATUSES)
+            .stream()
+            .collect(Collectors.toMap(Expense::getId, Function.identity()));
+        Map<Long, List<ApprovalStep>> stepsByExpense = actionable.isEmpty() ? Map.of() :
+            approvalStepRepository.findByExpenseIds(actionable.keySet()).stream()
+                .collect(Collectors.groupingBy(step -> step.getExpense().getId()));
+
+        // Every check runs before anything is changed: an expense that fails one is reported and left
+        // untouched, and the ones that pass are applied below with nothing left to refuse them. A failure
+        // while applying is not a per-item outcome; it rolls back the whole batch, summary deltas included,
+        // rather than flushing an expense half-approved
+        Map<Long, ApprovalStep> currentSteps = new HashMap<>();
+        Map<Long, BulkApprovalResult> failures = new HashMap<>();
+        for (Long id : ids) {
+            if (!actionable.containsKey(id)) {
+                failures.put(id, BulkApprovalResult.failed(id, "Expense not found or not awaiting your approval"));
+                continue;
+            }
+            stepsByExpense.getOrDefault(id, List.of()).stream()
+                .filter(ApprovalStep::isPending)
+                .filter(step -> step.getApprover().getId().equals(approverId))
+                .findFirst()
+                .ifPresentOrElse(step -> currentSteps.put(id, step),
+                    () -> failures.put(id, BulkApprovalResult.failed(id, "No pending approval step found")));
+        }
+
+        // Entities stay managed and are flushed once at commit, so the step and expense updates go out
+        // as JDBC batches ordered by id (hibernate.order_updates)
+        List<BulkApprovalResult> results = new ArrayList<>(ids.size());
+        List<ExpenseEvent> events = new ArrayList<>();
+        for (Long id : ids) {
+            ApprovalStep currentStep = currentSteps.get(id);
+            if (currentStep == null) {
+                results.add(failures.get(id));
+                continue;
+            }
+            Expense expense = actionable.get(id);
+            List<ApprovalStep> steps = stepsByExpense.get(id);
+            events.add(action == BulkApprovalRequest.Action.APPROVE
+                ? advance(expense, currentStep, steps, approverId, comments)
+                : applyRejection(expense, currentStep, steps, approverId, comments));
+            results.add(BulkApprovalResult.succeeded(id, expense.getStatus()));
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+        return results;
+    }
+
+    // Approves the current step, then either finishes the expense (plan satisfied or nothing left to wait
+    // for) or hands it to the next waiting step
+    private ExpenseEvent advance(Expense expense, ApprovalStep currentStep, List<ApprovalStep> steps,
+                                 Long approverId, String comments) {
+        currentStep.approve(comments);
+
+        ApprovalStep next = steps.stream().filter(ApprovalStep::isWaiting).findFirst().orElse(null);
+        if (next == null || ruleSatisfied(expense, approverId)) {
+            skipOpenSteps(steps, "Not required: approval rule satisfied");
+            complete(expense, ExpenseStatus.APPROVED);
+            return new ExpenseApprovedEvent(expense, approverId);
+        }
+
+        activate(expense, next);
+        return new StepApprovedEvent(expense, approverId, next.getApprover().getId());
+    }
+
+    private ExpenseEvent applyRejection(Expense expense, ApprovalStep currentStep, List<ApprovalStep> steps,
+                                        Long approverId, String reason) {
+        currentStep.reject(reason);
+        skipOpenSteps(steps, "Not required: expense rejected");
+        complete(expense, ExpenseStatus.REJECTED);
+        expense.setRejectionReason(reason);
+        return new ExpenseRejectedEvent(expense, approverId);
+    }
+
+    // Transitions are idempotent: repeating an approval or rejection the approver already made (a double
+    // submit, or a retry after a write conflict) changes nothing. Only planned steps count, and only while
+    // the approver has no step pending
+    private boolean alreadyActedOn(Expense expense, Long approverId, ApprovalStep.ApprovalStepStatus outcome) {
+        List<ApprovalStep> mine = expense.getApprovalSteps().stream()
+            .filter(step -> step.getStage() != null)
+            .filter(step -> step.getApprover().getId().equals(approverId))
+            .toList();
+        return mine.stream().noneMatch(ApprovalStep::isPending)
+            && mine.stream().anyMatch(step -> step.getStatus() == outcome);
     }
 
     // Helper methods
+
+    // Loads the expense a transition acts on and hands its company to the transition's flight recorder event
+    private Expense load(Long expenseId) {
+        Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        EventContext.companyLoaded(expense.getCompany() != null ? expense.getCompany().getId() : null);
+        return expense;
+    }
+
     private ApprovalStep getCurrentStep(Expense expense) {
         return expense.getApprovalSteps().stream()
             .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.PENDING)
@@ -240,33 +367,130 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
             .orElseThrow(() -> new IllegalStateException("No pending approval step found"));
     }
 
-    private void createApprovalStep(Expense expense, User approver, int sequence) {
-        ApprovalStep step = new ApprovalStep();
-        step.setExpense(expense);
-        step.setApprover(approver);
-        step.setSequence(sequence);
-        step.setStatus(ApprovalStep.ApprovalStepStatus.PENDING);
-        approvalStepRepository.save(step);
+    // Every status change goes through here so the summary counters move in the same transaction
+    private void transition(Expense expense, ExpenseStatus next) {
+        ExpenseStatus previous = expense.getStatus();
+        expense.setStatus(next);
+        summaryService.recordTransition(expense, previous, next);
     }
 
-    private User getFinanceApprover() {
-        // Get first ADMIN user to act as finance approver
-        return userRepository.findAll().stream()
-            .filter(user -> user.hasRole("ADMIN"))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("No admin user found to act as finance approver"));
+    // Terminal transitions stamp completedAt so time-windowed reporting can use the column
+    private void complete(Expense expense, ExpenseStatus finalStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        transition(expense, finalStatus);
+        expense.setCompletedAt(now);
+        expense.setLastActionAt(now);
+        clearCurrentApprover(expense);
     }
 
-    private User getDirectorApprover() {
-        // Get first ADMIN user to act as director approver
-        return userRepository.findAll().stream()
-            .filter(user -> user.hasRole("ADMIN"))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("No admin user found to act as director approver"));
+    private void clearCurrentApprover(Expense expense) {
+        expense.setCurrentApprover(null);
+        expense.setCurrentStepSequence(null);
+    }
+
+    // Expands the company's compiled plan into every step of the expense and inserts them in one batch.
+    // The first step is pending; the rest wait their turn
+    private void routeExpense(Expense expense) {
+        User submitter = expense.getSubmitter();
+        boolean managerSubmission = submitter.hasRole("MANAGER");
+        ApprovalPlan plan = approvalPlanService.getPlan(expense.getCompany().getId());
+
+        ApprovalPlan.Band band = plan.bandFor(expense.getAmount(), managerSubmission);
+        List<ApprovalStep> steps = planSteps(expense, band, managerSubmission);
+        if (steps.isEmpty() && band.getRuleId() != null) {
+            // The matching rule has nothing that applies to this submitter; fall back to built-in routing
+            band = plan.bandForRule(null, managerSubmission);
+            steps = planSteps(expense, band, managerSubmission);
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("No approvers are configured for this expense");
+        }
+
+        expense.setApprovalRuleId(band.getRuleId());
+        steps.forEach(expense::addStep);
+        activate(expense, steps.get(0));
+        approvalStepRepository.saveAll(steps);
+        expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseRoutedEvent(expense, expense.getCurrentApprover().getId()));
+    }
+
+    private List<ApprovalStep> planSteps(Expense expense, ApprovalPlan.Band band, boolean managerSubmission) {
+        User submitter = expense.getSubmitter();
+        List<ApprovalStep> steps = new ArrayList<>();
+        for (ApprovalPlan.Step planned : band.stepsFor(expense.getAmount())) {
+            User approver;
+            if (planned.getStage() == ApprovalStage.MANAGER) {
+                // Managers' own submissions and employees without a manager skip the manager stage
+                if (managerSubmission || !submitter.hasManager()) {
+                    continue;
+                }
+                approver = submitter.getManager();
+            } else if (planned.getApproverId() != null) {
+                approver = userRepository.getReferenceById(planned.getApproverId());
+            } else {
+                throw new IllegalStateException("No approver found for the " +
+                    planned.getStage().name().toLowerCase() + " stage");
+            }
+
+            ApprovalStep step = new ApprovalStep();
+            step.setApprover(approver);
+            step.setStage(planned.getStage());
+            step.setStatus(ApprovalStep.ApprovalStepStatus.WAITING);
+            steps.add(step);
+        }
+        return steps;
+    }
+
+    // The step becomes the expense's current one; inbox queries read these columns, not approval_steps
+    private void activate(Expense expense, ApprovalStep step) {
+        step.markPending();
+        expense.setCurrentApprover(step.getApprover());
+        expense.setCurrentStepSequence(step.getSequence());
+        expense.setLastActionAt(LocalDateTime.now());
+        transition(expense, step.getStage() != null ? step.getStage().getPendingStatus() : ExpenseStatus.PENDING_DIRECTOR);
     }
 
-    private boolean isCFO(User user) {
-        return user.hasRole("ADMIN"); // Admin users can act as CFO
+    private void skipOpenSteps(List<ApprovalStep> steps, String reason) {
+        steps.stream()
+            .filter(step -> step.isPending() || step.isWaiting())
+            .forEach(step -> step.skip(reason));
+    }
+
+    private ApprovalPlan.Band planBand(Expense expense) {
+        return approvalPlanService.getPlan(expense.getCompany().getId())
+            .bandForRule(expense.getApprovalRuleId(), expense.getSubmitter().hasRole("MANAGER"));
+    }
+
+    // Evaluated from the expense's step counters. Under OR semantics an earlier CFO sign-off would already
+    // have completed the expense, so only the approver acting now can be the CFO; AND semantics look the
+    // sign-off up once, and only when the percentage is already met
+    private boolean ruleSatisfied(Expense expense, Long approverId) {
+        ApprovalPlan.Band band = planBand(expense);
+        Long cfoId = band.getCfoApproverId();
+        boolean cfoApproved = cfoId != null && (cfoId.equals(approverId)
+            || band.requiresPercentageAndCfo()
+                && band.isPercentageMet(expense.getApprovedSteps(), expense.getTotalSteps())
+                && approvalStepRepository.existsByExpenseIdAndApproverIdAndStatus(
+                    expense.getId(), cfoId, ApprovalStep.ApprovalStepStatus.APPROVED));
+        return band.isSatisfied(expense.getApprovedSteps(), expense.getTotalSteps(), cfoApproved);
+    }
+
+    // Escalation target comes from the cached per-company directory; getReferenceById avoids a user load
+    private User getDirectorApprover(Expense expense) {
+        Long approverId = approverDirectory(expense).getDirectorApproverId();
+        if (approverId == null) {
+            throw new IllegalStateException("No admin user found to act as director approver");
+        }
+        return userRepository.getReferenceById(approverId);
+    }
+
+    private ApproverDirectory approverDirectory(Expense expense) {
+        return approverDirectoryService.getDirectory(expense.getCompany().getId());
+    }
+
+    private boolean isCFO(Expense expense, User user) {
+        // The company's designated CFO, or any admin (admins can act as CFO)
+        return user.getId().equals(approverDirectory(expense).getCfoApproverId()) || user.hasRole("ADMIN");
     }
 
     private void validateApprover(Expense expense, Long approverId, String expectedRole) {
@@ -288,15 +512,9 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         }
     }
 
-    private boolean needsDirectorApproval(Expense expense) {
-        // Director approval needed for high-value expenses (over ₹50,000)
-        return expense.getAmount().compareTo(new BigDecimal("50000")) > 0;
-    }
-
     @Override
     public void processAdminOverride(Long expenseId, Long adminId, String comments) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        Expense expense = load(expenseId);
 
         User admin = userRepository.findById(adminId)
             .orElseThrow(() -> new IllegalArgumentException("Admin not found"));
@@ -305,35 +523,38 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
             throw new IllegalStateException("Only admin users can override approvals");
         }
 
+        // Overriding an expense that is already approved changes nothing
+        if (expense.getStatus().isApproved()) {
+            return;
+        }
+
         // Create admin override approval step
         ApprovalStep overrideStep = new ApprovalStep();
-        overrideStep.setExpense(expense);
         overrideStep.setApprover(admin);
-        overrideStep.setSequence(999); // High sequence number for override
+        expense.addStep(overrideStep);
         overrideStep.approve(comments);
         approvalStepRepository.save(overrideStep);
 
         // Mark all pending steps as skipped
-        List<ApprovalStep> pendingSteps = approvalStepRepository.findByExpenseIdOrderBySequence(expenseId)
-            .stream()
-            .filter(step -> step.getStatus() == ApprovalStep.ApprovalStepStatus.PENDING)
-            .toList();
-
-        for (ApprovalStep step : pendingSteps) {
-            step.skip("Skipped due to admin override");
-            approvalStepRepository.save(step);
-        }
+        List<ApprovalStep> steps = approvalStepRepository.findByExpenseIdOrderBySequence(expenseId);
+        List<ApprovalStep> pendingSteps = steps.stream().filter(ApprovalStep::isPending).toList();
+        skipOpenSteps(steps, "Skipped due to admin override");
 
         // Directly approve the expense
-        expense.setStatus(ExpenseStatus.APPROVED);
-        expense.setLastActionAt(LocalDateTime.now());
+        complete(expense, ExpenseStatus.APPROVED);
         expenseRepository.save(expense);
+
+        // The admin and every approver whose step was skipped see a changed inbox
+        Long[] affected = java.util.stream.Stream.concat(
+                java.util.stream.Stream.of(adminId),
+                pendingSteps.stream().map(step -> step.getApprover().getId()))
+            .toArray(Long[]::new);
+        eventPublisher.publishEvent(new ApprovalOverriddenEvent(expense, affected));
     }
 
     @Override
     public void escalateExpense(Long expenseId, Long managerId, String escalationReason) {
-        Expense expense = expenseRepository.findById(expenseId)
-            .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
+        Expense expense = load(expenseId);
 
         User manager = userRepository.findById(managerId)
             .orElseThrow(() -> new IllegalArgumentException("Manager not found"));
@@ -343,30 +564,81 @@ public class ApprovalWorkflowServiceImpl implements ApprovalWorkflowService {
         }
 
         // Create escalation step - goes to admin/director
-        User director = getDirectorApprover();
-        createApprovalStep(expense, director, getCurrentMaxSequence(expenseId) + 1);
+        User director = getDirectorApprover(expense);
 
-        // Update expense status
-        expense.setStatus(ExpenseStatus.PENDING_DIRECTOR);
-        expense.setLastActionAt(LocalDateTime.now());
+        List<ApprovalStep> steps = approvalStepRepository.findByExpenseIdOrderBySequence(expenseId);
+        ExpenseEvent event = escalate(expense, steps, director, manager, "ESCALATED: " + escalationReason);
         expenseRepository.save(expense);
+        eventPublisher.publishEvent(event);
+    }
+
+    @Override
+    public int escalateOverdue(Collection<Long> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return 0;
+        }
+
+        // Locked rows are re-checked here: an expense acted on (or escalated by another node) since it was
+        // queued has moved on and no longer qualifies
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = expenseRepository.lockByIdInAndStatusIn(expenseIds, ESCALATABLE_STATUSES).stream()
+            .map(Expense::getId)
+            .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<ApprovalStep>> stepsByExpense = approvalStepRepository.findByExpenseIds(ids).stream()
+            .collect(Collectors.groupingBy(step -> step.getExpense().getId()));
+
+        List<ExpenseEvent> events = new ArrayList<>();
+        for (Expense expense : expenseRepository.findWithSubmitterAndCompany(ids)) {
+            Integer slaHours = expense.getCompany().getEscalationSlaHours();
+            if (slaHours == null || expense.getLastActionAt() == null
+                    || expense.getLastActionAt().plusHours(slaHours).isAfter(now)) {
+                continue;
+            }
+            // Without a director there is nobody to escalate to; the expense stays with its approver
+            Long directorId = approverDirectory(expense).getDirectorApproverId();
+            if (directorId == null) {
+                continue;
+            }
+            User director = userRepository.getReferenceById(directorId);
+            events.add(escalate(expense, stepsByExpense.getOrDefault(expense.getId(), List.of()), director, director,
+                "AUTO-ESCALATED: pending for more than " + slaHours + " hours"));
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+        return events.size();
+    }
+
+    // The director takes over: steps still pending are skipped so the expense has a single current approver.
+    // The escalation is logged as an approved ad-hoc step by whoever escalated
+    private ExpenseEvent escalate(Expense expense, List<ApprovalStep> steps, User director, User escalatedBy,
+                                  String comment) {
+        List<ApprovalStep> pendingSteps = steps.stream().filter(ApprovalStep::isPending).toList();
+        skipOpenSteps(steps, "Skipped due to escalation");
+
+        // Inboxes touched: the escalating user, the director, and whoever held a pending step
+        Long[] affected = java.util.stream.Stream.concat(
+                pendingSteps.stream().map(step -> step.getApprover().getId()),
+                java.util.stream.Stream.of(escalatedBy.getId(), director.getId()))
+            .toArray(Long[]::new);
+
+        ApprovalStep directorStep = new ApprovalStep();
+        directorStep.setApprover(director);
+        directorStep.setStage(ApprovalStage.DIRECTOR);
+        expense.addStep(directorStep);
+        approvalStepRepository.save(directorStep);
+        activate(expense, directorStep);
 
-        // Log escalation in approval step comments
         ApprovalStep escalationLog = new ApprovalStep();
-        escalationLog.setExpense(expense);
-        escalationLog.setApprover(manager);
-        escalationLog.setSequence(getCurrentMaxSequence(expenseId) + 1);
-        escalationLog.setComments("ESCALATED: " + escalationReason);
+        escalationLog.setApprover(escalatedBy);
+        escalationLog.setComments(comment);
         escalationLog.setStatus(ApprovalStep.ApprovalStepStatus.APPROVED);
         escalationLog.setActionDate(LocalDateTime.now());
+        expense.addStep(escalationLog);
         approvalStepRepository.save(escalationLog);
-    }
 
-    private int getCurrentMaxSequence(Long expenseId) {
-        return approvalStepRepository.findByExpenseIdOrderBySequence(expenseId)
-            .stream()
-            .mapToInt(ApprovalStep::getSequence)
-            .max()
-            .orElse(0);
+        return new ExpenseEscalatedEvent(expense, affected);
     }
 }
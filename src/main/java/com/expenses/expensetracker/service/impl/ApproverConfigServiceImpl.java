@@ -2,11 +2,13 @@ package com.expenses.expensetracker.service.impl;
 
 import com.expenses.expensetracker.entity.ApproverConfig;
 import com.expenses.expensetracker.entity.ApprovalRule;
+import com.expenses.expensetracker.event.ApprovalRulesChangedEvent;
 import com.expenses.expensetracker.repository.ApproverConfigRepository;
 import com.expenses.expensetracker.repository.ApprovalRuleRepository;
 import com.expenses.expensetracker.repository.UserRepository;
 import com.expenses.expensetracker.service.ApproverConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -25,10 +27,16 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
     @Autowired
     private UserRepository userRepository;
 
+    // Approver sequences are part of the compiled approval plan; it is rebuilt once the change commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ApproverConfig createApproverConfig(ApproverConfig config) {
         validateSequence(config);
-        return approverConfigRepository.save(config);
+        ApproverConfig saved = approverConfigRepository.save(config);
+        rulesChanged(saved.getApprovalRule().getId());
+        return saved;
     }
 
     @Override
@@ -39,6 +47,7 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
         config.setSequence(newSequence);
         validateSequence(config);
         approverConfigRepository.save(config);
+        rulesChanged(config.getApprovalRule().getId());
     }
 
     @Override
@@ -49,6 +58,7 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
     @Override
     public void removeApproverFromRule(Long ruleId, Long approverId) {
         approverConfigRepository.deleteByApprovalRuleIdAndApproverId(ruleId, approverId);
+        rulesChanged(ruleId);
     }
 
     @Override
@@ -63,6 +73,7 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
         config.setCfoStep(true);
 
         approverConfigRepository.save(config);
+        rulesChanged(ruleId);
     }
 
     @Override
@@ -76,6 +87,7 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
 
         rule.setRequiredPercentage(percentage);
         approvalRuleRepository.save(rule);
+        rulesChanged(ruleId);
     }
 
     @Override
@@ -90,12 +102,22 @@ public class ApproverConfigServiceImpl implements ApproverConfigService {
 
     @Override
     public ApproverConfig updateApproverConfig(ApproverConfig config) {
-        return approverConfigRepository.save(config);
+        ApproverConfig saved = approverConfigRepository.save(config);
+        rulesChanged(saved.getApprovalRule().getId());
+        return saved;
     }
 
     @Override
     public void deleteApproverConfig(Long configId) {
-        approverConfigRepository.deleteById(configId);
+        approverConfigRepository.findById(configId).ifPresent(config -> {
+            approverConfigRepository.delete(config);
+            rulesChanged(config.getApprovalRule().getId());
+        });
+    }
+
+    private void rulesChanged(Long ruleId) {
+        approvalRuleRepository.findById(ruleId).ifPresent(rule ->
+            eventPublisher.publishEvent(new ApprovalRulesChangedEvent(rule.getCompany().getId())));
     }
 
     private void validateSequence(ApproverConfig config) {
@@ -0,0 +1,43 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ApproverDirectory;
+import com.expenses.expensetracker.repository.ApprovalRuleRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ApproverDirectoryServiceImpl implements ApproverDirectoryService {
+
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+
+    private final UserRepository userRepository;
+    private final ApprovalRuleRepository approvalRuleRepository;
+
+    public ApproverDirectoryServiceImpl(UserRepository userRepository, ApprovalRuleRepository approvalRuleRepository) {
+        this.userRepository = userRepository;
+        this.approvalRuleRepository = approvalRuleRepository;
+    }
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "#companyId")
+    public ApproverDirectory getDirectory(Long companyId) {
+        // Admins act as finance and director approvers; the longest-standing admin is used
+        Long adminId = first(userRepository.findIdsByCompanyAndRole(companyId, "ADMIN", FIRST));
+
+        // A rule-designated CFO takes precedence; otherwise the admin signs off as CFO
+        Long cfoId = first(approvalRuleRepository.findCfoApproverIds(companyId, FIRST));
+
+        return new ApproverDirectory(companyId, adminId, adminId, cfoId != null ? cfoId : adminId);
+    }
+
+    private Long first(List<Long> ids) {
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
@@ -1,5 +1,8 @@
 package com.expenses.expensetracker.service.impl;
 
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.EventContext;
+import com.expenses.expensetracker.jfr.ExchangeRateLookupEvent;
 import com.expenses.expensetracker.service.CurrencyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,17 +19,18 @@ public class CurrencyServiceImpl implements CurrencyService {
     @Value("${expense.api.countries.url}")
     private String countriesApiUrl;
 
-    @Value("${expense.api.exchange.url}")
-    private String exchangeRateApiUrl;
-
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ExchangeRateLoader exchangeRateLoader;
+
     @Override
     @Cacheable("countryCurrencies")
     public String getCountryCurrency(String countryCode) {
-        String url = countriesApiUrl + "?fields=name,currencies&codes=" + countryCode;
-        Map<String, Object>[] response = restTemplate.getForObject(url, Map[].class);
+        // A URI template, so client metrics tag one uri for every code rather than one per code
+        Map<String, Object>[] response = restTemplate.getForObject(
+            countriesApiUrl + "?fields=name,currencies&codes={code}", Map[].class, countryCode);
 
         if (response == null || response.length == 0) {
             throw new IllegalArgumentException("Country not found: " + countryCode);
@@ -59,14 +63,23 @@ public class CurrencyServiceImpl implements CurrencyService {
     }
 
     @Override
-    @Cacheable("exchangeRates")
+    // Keyed "FROM:TO" so ExchangeRateLoader can reload entries when they are refreshed
+    @Cacheable(value = ExchangeRateLoader.CACHE_NAME, key = "#fromCurrency + ':' + #toCurrency")
     public BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
-        String url = String.format(exchangeRateApiUrl, fromCurrency);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> rates = (Map<String, Object>) response.get("rates");
-        return new BigDecimal(rates.get(toCurrency).toString());
+        ExchangeRateLookupEvent event = new ExchangeRateLookupEvent();
+        event.fromCurrency = fromCurrency;
+        event.toCurrency = toCurrency;
+        event.expenseId = EventContext.expenseId();
+        event.companyId = EventContext.companyId();
+        event.begin();
+        try {
+            BigDecimal rate = exchangeRateLoader.fetchRate(fromCurrency, toCurrency);
+            event.finish(BusinessEvent.SUCCESS);
+            return rate;
+        } catch (RuntimeException e) {
+            event.finish(BusinessEvent.outcomeOf(e));
+            throw e;
+        }
     }
 
     private Map<String, String> extractCurrencies(Map<String, Object>[] countries) {
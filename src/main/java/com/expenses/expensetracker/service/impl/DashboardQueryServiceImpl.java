@@ -0,0 +1,77 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.AdminDashboardStats;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.StatusCount;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.repository.CompanyRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.service.DashboardQueryService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional(readOnly = true)
+public class DashboardQueryServiceImpl implements DashboardQueryService {
+
+    private static final Set<ExpenseStatus> PENDING_STATUSES = EnumSet.of(
+        ExpenseStatus.SUBMITTED,
+        ExpenseStatus.PENDING_MANAGER,
+        ExpenseStatus.PENDING_FINANCE,
+        ExpenseStatus.PENDING_DIRECTOR,
+        ExpenseStatus.PENDING_ADDITIONAL_INFO
+    );
+
+    private static final List<ExpenseStatus> APPROVED_STATUSES =
+        List.of(ExpenseStatus.APPROVED, ExpenseStatus.CFO_APPROVED);
+
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+    private final CompanyRepository companyRepository;
+
+    public DashboardQueryServiceImpl(ExpenseRepository expenseRepository,
+                                     UserRepository userRepository,
+                                     CompanyRepository companyRepository) {
+        this.expenseRepository = expenseRepository;
+        this.userRepository = userRepository;
+        this.companyRepository = companyRepository;
+    }
+
+    @Override
+    public AdminDashboardStats getAdminStats() {
+        // One GROUP BY pass yields both the total and the pending figure
+        long totalExpenses = 0;
+        long pendingApprovals = 0;
+        for (StatusCount bucket : expenseRepository.countGroupedByStatus()) {
+            totalExpenses += bucket.getCount();
+            if (PENDING_STATUSES.contains(bucket.getStatus())) {
+                pendingApprovals += bucket.getCount();
+            }
+        }
+
+        LocalDateTime monthStart = YearMonth.now().atDay(1).atStartOfDay();
+        LocalDateTime nextMonthStart = monthStart.plusMonths(1);
+        long approvedThisMonth = expenseRepository.countCompletedBetween(
+            APPROVED_STATUSES, monthStart, nextMonthStart);
+
+        return new AdminDashboardStats(
+            userRepository.count(),
+            totalExpenses,
+            pendingApprovals,
+            companyRepository.count(),
+            approvedThisMonth);
+    }
+
+    @Override
+    public List<ExpenseListRow> getRecentExpenses(int limit) {
+        return expenseRepository.findRecentRows(PageRequest.of(0, Math.max(1, limit)));
+    }
+}
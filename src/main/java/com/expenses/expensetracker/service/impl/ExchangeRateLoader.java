@@ -0,0 +1,51 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.config.NamedCacheLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Fetches single exchange rates and reloads "exchangeRates" entries (keyed "FROM:TO") when the
+ * cache refreshes them in the background.
+ */
+@Component
+public class ExchangeRateLoader implements NamedCacheLoader {
+
+    public static final String CACHE_NAME = "exchangeRates";
+
+    private final RestTemplate restTemplate;
+    private final String exchangeRateApiUrl;
+
+    public ExchangeRateLoader(RestTemplate restTemplate,
+                              @Value("${expense.api.exchange.url}") String exchangeRateApiUrl) {
+        this.restTemplate = restTemplate;
+        this.exchangeRateApiUrl = exchangeRateApiUrl;
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public Object load(Object key) {
+        String[] pair = key.toString().split(":", 2);
+        if (pair.length != 2) {
+            throw new IllegalArgumentException("Exchange rate cache key must be FROM:TO, got " + key);
+        }
+        return fetchRate(pair[0], pair[1]);
+    }
+
+    public BigDecimal fetchRate(String fromCurrency, String toCurrency) {
+        // The configured URL ends with the path segment that takes the base currency; expanded as a template
+        // so http.client.requests keeps one uri tag instead of one per currency
+        Map<String, Object> response = restTemplate.getForObject(exchangeRateApiUrl + "{base}", Map.class, fromCurrency);
+        if (response == null || !(response.get("rates") instanceof Map<?, ?> rates) || rates.get(toCurrency) == null) {
+            throw new IllegalArgumentException("No exchange rate found for " + fromCurrency + " to " + toCurrency);
+        }
+        return new BigDecimal(rates.get(toCurrency).toString());
+    }
+}
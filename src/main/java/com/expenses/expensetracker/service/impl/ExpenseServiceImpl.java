@@ -2,53 +2,89 @@ package com.expenses.expensetracker.service.impl;
 
 import com.expenses.expensetracker.entity.Expense;
 import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.dto.ExpenseFilter;
+import com.expenses.expensetracker.dto.ExpenseListRow;
 import com.expenses.expensetracker.dto.ExpenseOcrResult;
+import com.expenses.expensetracker.dto.KeysetPage;
+import com.expenses.expensetracker.event.ExpenseSubmittedEvent;
+import com.expenses.expensetracker.jfr.EventContext;
 import com.expenses.expensetracker.repository.ExpenseRepository;
 import com.expenses.expensetracker.service.ExpenseService;
+import com.expenses.expensetracker.service.ExpenseSummaryService;
 import com.expenses.expensetracker.service.OcrService;
 import com.expenses.expensetracker.service.CurrencyService;
 import com.expenses.expensetracker.service.FileStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Service
 @Transactional
 public class ExpenseServiceImpl implements ExpenseService {
 
+    private static final Logger log = LoggerFactory.getLogger(ExpenseServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Open bounds used in place of absent cursor/date filters so the keyset queries keep a single shape
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
     private final ExpenseRepository expenseRepository;
     private final OcrService ocrService;
     private final CurrencyService currencyService;
     private final FileStorageService fileStorageService;
+    private final ExpenseSummaryService summaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ExpenseServiceImpl(ExpenseRepository expenseRepository, OcrService ocrService,
-                             CurrencyService currencyService, FileStorageService fileStorageService) {
+                             CurrencyService currencyService, FileStorageService fileStorageService,
+                             ExpenseSummaryService summaryService, ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
         this.ocrService = ocrService;
         this.currencyService = currencyService;
         this.fileStorageService = fileStorageService;
+        this.summaryService = summaryService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    @CacheEvict(value = "userExpenses", key = "#expense.submitter.id")
     public Expense submitExpense(Expense expense) {
         // Validate expense
         if (expense.getAmount() == null || expense.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Invalid expense amount");
         }
 
+        // A new expense has no counter to leave; a re-submitted one leaves its current status
+        ExpenseStatus previous = expense.getId() != null ? expense.getStatus() : null;
+
         // Set initial status and timestamps
         expense.setStatus(ExpenseStatus.SUBMITTED);
         expense.setSubmittedAt(java.time.LocalDateTime.now());
         expense.setLastActionAt(java.time.LocalDateTime.now());
 
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+        summaryService.recordTransition(saved, previous, ExpenseStatus.SUBMITTED);
+        eventPublisher.publishEvent(new ExpenseSubmittedEvent(saved));
+        return saved;
     }
 
     @Override
@@ -56,7 +92,8 @@ public class ExpenseServiceImpl implements ExpenseService {
         Expense expense = expenseRepository.findById(expenseId)
             .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
 
-        try {
+        // The receipt write is recorded against this expense and its company
+        try (EventContext.Scope ignored = EventContext.open(expenseId, companyIdOf(expense))) {
             // Generate a unique filename for the receipt
             String fileName = fileStorageService.generateReceiptFileName(expenseId, "pdf");
 
@@ -111,11 +148,51 @@ public class ExpenseServiceImpl implements ExpenseService {
             return expense.getAmount();
         }
 
-        return currencyService.convertAmount(
-            expense.getAmount(),
-            expense.getCurrency(),
-            companyCurrency
-        );
+        try (EventContext.Scope ignored = EventContext.open(expenseId, companyIdOf(expense))) {
+            return currencyService.convertAmount(
+                expense.getAmount(),
+                expense.getCurrency(),
+                companyCurrency
+            );
+        }
+    }
+
+    private static Long companyIdOf(Expense expense) {
+        return expense.getCompany() != null ? expense.getCompany().getId() : null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> convertToCompanyCurrency(Collection<ExpenseListRow> expenses) {
+        Map<Long, BigDecimal> converted = new HashMap<>();
+        Map<String, List<ExpenseListRow>> byPair = new HashMap<>();
+
+        for (ExpenseListRow row : expenses) {
+            if (row.getBaseCurrencyAmount() != null) {
+                // Already converted (and rate-stamped) at submission time
+                converted.put(row.getId(), row.getBaseCurrencyAmount());
+            } else if (row.getCompanyCurrency() == null || row.getCurrency().equals(row.getCompanyCurrency())) {
+                converted.put(row.getId(), row.getAmount());
+            } else {
+                byPair.computeIfAbsent(row.getCurrency() + ":" + row.getCompanyCurrency(), k -> new ArrayList<>())
+                    .add(row);
+            }
+        }
+
+        byPair.forEach((pair, rows) -> {
+            ExpenseListRow first = rows.get(0);
+            try {
+                BigDecimal rate = currencyService.getExchangeRate(first.getCurrency(), first.getCompanyCurrency());
+                for (ExpenseListRow row : rows) {
+                    converted.put(row.getId(), row.getAmount().multiply(rate).setScale(2, RoundingMode.HALF_UP));
+                }
+            } catch (Exception e) {
+                // Leave this pair unconverted rather than failing the whole page
+                log.warn("Could not fetch exchange rate {}; {} expenses left unconverted: {}", pair, rows.size(), e.getMessage());
+            }
+        });
+
+        return converted;
     }
 
     @Override
@@ -135,4 +212,94 @@ public class ExpenseServiceImpl implements ExpenseService {
     public Long getExpenseCount(Long employeeId) {
         return expenseRepository.countBySubmitterId(employeeId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ExpenseListRow> findPage(ExpenseFilter filter, LocalDateTime afterSubmittedAt, Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        ExpenseFilter f = filter != null ? filter : new ExpenseFilter();
+        List<ExpenseListRow> rows = expenseRepository.findPage(
+            cursorAt(afterSubmittedAt, afterId), cursorId(afterSubmittedAt, afterId),
+            f.getStatus(), blankToNull(f.getCategory()), fromDate(f), toDate(f), searchPattern(f),
+            limit(pageSize));
+        return toPage(rows, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ExpenseListRow> getEmployeeExpensePage(Long employeeId, ExpenseFilter filter,
+                                                             LocalDateTime afterSubmittedAt, Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        ExpenseFilter f = filter != null ? filter : new ExpenseFilter();
+        List<ExpenseListRow> rows = expenseRepository.findPageBySubmitter(employeeId,
+            cursorAt(afterSubmittedAt, afterId), cursorId(afterSubmittedAt, afterId),
+            f.getStatus(), blankToNull(f.getCategory()), fromDate(f), toDate(f), searchPattern(f),
+            limit(pageSize));
+        return toPage(rows, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ExpenseListRow> getTeamExpensePage(Long managerId, ExpenseFilter filter,
+                                                         LocalDateTime afterSubmittedAt, Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        ExpenseFilter f = filter != null ? filter : new ExpenseFilter();
+        List<ExpenseListRow> rows = expenseRepository.findTeamPage(managerId,
+            cursorAt(afterSubmittedAt, afterId), cursorId(afterSubmittedAt, afterId),
+            f.getStatus(), blankToNull(f.getCategory()), fromDate(f), toDate(f), searchPattern(f),
+            limit(pageSize));
+        return toPage(rows, pageSize);
+    }
+
+    // Keyset helpers
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // One extra row tells us whether a next page exists without running a COUNT
+    private Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private LocalDateTime cursorAt(LocalDateTime afterSubmittedAt, Long afterId) {
+        return afterSubmittedAt != null && afterId != null ? afterSubmittedAt : KEYSET_START;
+    }
+
+    private Long cursorId(LocalDateTime afterSubmittedAt, Long afterId) {
+        return afterSubmittedAt != null && afterId != null ? afterId : Long.MAX_VALUE;
+    }
+
+    private LocalDate fromDate(ExpenseFilter filter) {
+        return filter.getFromDate() != null ? filter.getFromDate() : MIN_DATE;
+    }
+
+    private LocalDate toDate(ExpenseFilter filter) {
+        return filter.getToDate() != null ? filter.getToDate() : MAX_DATE;
+    }
+
+    // The search text matches literally: LIKE wildcards in it are escaped with the query's ESCAPE '!'
+    private String searchPattern(ExpenseFilter filter) {
+        String search = blankToNull(filter.getSearch());
+        if (search == null) {
+            return null;
+        }
+        String literal = search.trim().toLowerCase()
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+        return "%" + literal + "%";
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private KeysetPage<ExpenseListRow> toPage(List<ExpenseListRow> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<ExpenseListRow> content = hasNext ? rows.subList(0, pageSize) : rows;
+        ExpenseListRow last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return new KeysetPage<>(content, pageSize, hasNext,
+            last != null ? last.getSubmittedAt() : null,
+            last != null ? last.getId() : null);
+    }
 }
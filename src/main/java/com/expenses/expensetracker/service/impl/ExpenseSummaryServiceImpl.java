@@ -0,0 +1,304 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ExpenseTotals;
+import com.expenses.expensetracker.dto.SummaryTotals;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.ExpenseSummary;
+import com.expenses.expensetracker.repository.CompanyRepository;
+import com.expenses.expensetracker.repository.ExpenseSummaryRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.service.ExpenseSummaryService;
+import com.expenses.expensetracker.service.SchedulerLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class ExpenseSummaryServiceImpl implements ExpenseSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSummaryServiceImpl.class);
+
+    static final String LEASE_NAME = "expense-summary-reconcile";
+
+    // Submitters reconciled between lease renewals
+    private static final int RENEW_EVERY = 100;
+
+    // Plain JDBC on the transaction's connection: a duplicate-key failure here fails only the statement,
+    // where the same failure through the EntityManager would mark the whole transaction rollback-only
+    private static final String ADD_TO_ROW =
+        "UPDATE expense_summaries SET expense_count = expense_count + ?, total_amount = total_amount + ? " +
+        "WHERE company_id = ? AND submitter_id = ? AND status = ?";
+    private static final String INSERT_ROW =
+        "INSERT INTO expense_summaries (company_id, submitter_id, status, expense_count, total_amount) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    // Counter rows in the order every transaction writes them: submitter, then status, then company
+    private static final Comparator<RowKey> ROW_ORDER = Comparator.comparing(RowKey::submitterId)
+        .thenComparing(key -> key.status().name())
+        .thenComparing(RowKey::companyId);
+
+    private final ExpenseSummaryRepository summaryRepository;
+    private final CompanyRepository companyRepository;
+    private final UserRepository userRepository;
+    private final SchedulerLeaseService leaseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseTtl;
+
+    public ExpenseSummaryServiceImpl(ExpenseSummaryRepository summaryRepository,
+                                     CompanyRepository companyRepository,
+                                     UserRepository userRepository,
+                                     SchedulerLeaseService leaseService,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${expense.summary.lease-seconds:600}") long leaseSeconds) {
+        this.summaryRepository = summaryRepository;
+        this.companyRepository = companyRepository;
+        this.userRepository = userRepository;
+        this.leaseService = leaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+    }
+
+    // Joins the caller's transaction so the counters commit or roll back with the status change. Deltas are
+    // only collected here, merged per counter row, and written in beforeCommit after the expenses are flushed.
+    // Counter rows are therefore the last rows any transaction locks, always in ROW_ORDER, however many
+    // transitions (a bulk action) it made, so transitions cannot deadlock on them or on the expense rows
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Expense expense, ExpenseStatus previous, ExpenseStatus next) {
+        if (previous == next) {
+            return;
+        }
+
+        BigDecimal amount = baseAmount(expense);
+        Long companyId = expense.getCompany().getId();
+        Long submitterId = expense.getSubmitter().getId();
+
+        PendingDeltas deltas = pendingDeltas();
+        if (previous != null) {
+            deltas.add(new RowKey(submitterId, previous, companyId), -1, amount.negate());
+        }
+        if (next != null) {
+            deltas.add(new RowKey(submitterId, next, companyId), 1, amount);
+        }
+    }
+
+    // The current transaction's collector; synchronizations are suspended with their transaction, so a
+    // REQUIRES_NEW transaction inside this one gets, and commits, its own
+    private PendingDeltas pendingDeltas() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDeltas deltas && deltas.owner() == this) {
+                return deltas;
+            }
+        }
+        PendingDeltas deltas = new PendingDeltas();
+        TransactionSynchronizationManager.registerSynchronization(deltas);
+        return deltas;
+    }
+
+    // Adds the delta to the row, creating it when this is the submitter's first expense in the status. Of two
+    // transactions creating the same row, the second waits for the first and then hits the unique key; the
+    // row is committed by then, so it takes the delta as an update instead
+    private void applyDelta(RowKey key, long count, BigDecimal amount) {
+        if (addToRow(key, count, amount) > 0) {
+            return;
+        }
+        if (count < 0) {
+            // Leaving a counter that was never created: drift, repaired by the nightly reconcile
+            log.warn("Expense summary row missing for submitter {} in {}; left to reconciliation",
+                key.submitterId(), key.status());
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_ROW, key.companyId(), key.submitterId(), key.status().name(), count, amount);
+        } catch (DuplicateKeyException e) {
+            addToRow(key, count, amount);
+        }
+    }
+
+    private int addToRow(RowKey key, long count, BigDecimal amount) {
+        return jdbcTemplate.update(ADD_TO_ROW, count, amount, key.companyId(), key.submitterId(), key.status().name());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseTotals getSubmitterTotals(Long submitterId) {
+        return fold(summaryRepository.findBySubmitterId(submitterId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseTotals getTeamTotals(Long managerId) {
+        return fold(summaryRepository.findByManagerId(managerId));
+    }
+
+    // One short transaction per submitter (or the caller's, when seeding inside one), so live transitions
+    // only ever wait for the submitter being reconciled
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int rebuild() {
+        return reconcileSubmitters(false);
+    }
+
+    // Repairs drift from writes that bypass the workflow (bulk imports, manual SQL). One node runs it,
+    // holding the scheduler lease
+    @Scheduled(cron = "${expense.summary.reconcile-cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcile() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int rows = reconcileSubmitters(true);
+        log.info("Corrected {} expense summary rows in {} ms", rows, System.currentTimeMillis() - started);
+    }
+
+    private int reconcileSubmitters(boolean leased) {
+        int changed = 0;
+        int done = 0;
+        for (Long submitterId : submitterIds()) {
+            if (leased && ++done % RENEW_EVERY == 0 && !leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                log.warn("Expense summary reconciliation lease lost after {} submitters; stopping", done);
+                break;
+            }
+            try {
+                Integer rows = transactionTemplate.execute(tx -> reconcileSubmitter(submitterId));
+                changed += rows != null ? rows : 0;
+            } catch (DataIntegrityViolationException e) {
+                // A first transition created one of the rows concurrently; the next run compares against it
+                log.warn("Expense summary reconciliation of submitter {} skipped: {}", submitterId, e.getMessage());
+            }
+        }
+        return changed;
+    }
+
+    private TreeSet<Long> submitterIds() {
+        TreeSet<Long> ids = new TreeSet<>(summaryRepository.findSubmitterIdsWithExpenses());
+        ids.addAll(summaryRepository.findSubmitterIdsWithSummaries());
+        return ids;
+    }
+
+    // Locks the submitter's rows, recounts their expenses and writes only the rows that differ
+    private int reconcileSubmitter(Long submitterId) {
+        Map<String, ExpenseSummary> rows = new HashMap<>();
+        for (ExpenseSummary row : summaryRepository.lockBySubmitterId(submitterId)) {
+            rows.put(key(row.getCompany().getId(), row.getStatus()), row);
+        }
+
+        int changed = 0;
+        for (SummaryTotals totals : summaryRepository.recountForSubmitter(submitterId)) {
+            ExpenseSummary row = rows.remove(key(totals.getCompanyId(), totals.getStatus()));
+            if (row == null) {
+                row = new ExpenseSummary();
+                row.setCompany(companyRepository.getReferenceById(totals.getCompanyId()));
+                row.setSubmitter(userRepository.getReferenceById(submitterId));
+                row.setStatus(totals.getStatus());
+            } else if (row.getExpenseCount() == totals.getExpenseCount()
+                    && row.getTotalAmount().compareTo(totals.getTotal()) == 0) {
+                continue;
+            }
+            row.setExpenseCount(totals.getExpenseCount());
+            row.setTotalAmount(totals.getTotal());
+            summaryRepository.save(row);
+            changed++;
+        }
+        // Rows left over have no expenses behind them any more
+        for (ExpenseSummary row : rows.values()) {
+            if (row.getExpenseCount() != 0 || row.getTotalAmount().signum() != 0) {
+                row.setExpenseCount(0);
+                row.setTotalAmount(BigDecimal.ZERO);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static String key(Long companyId, ExpenseStatus status) {
+        return companyId + ":" + status;
+    }
+
+    private record RowKey(Long submitterId, ExpenseStatus status, Long companyId) {
+    }
+
+    // Net deltas of one transaction per counter row, written just before it commits
+    private class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<RowKey, long[]> counts = new TreeMap<>(ROW_ORDER);
+        private final Map<RowKey, BigDecimal> amounts = new TreeMap<>(ROW_ORDER);
+
+        ExpenseSummaryServiceImpl owner() {
+            return ExpenseSummaryServiceImpl.this;
+        }
+
+        void add(RowKey key, long count, BigDecimal amount) {
+            counts.computeIfAbsent(key, k -> new long[1])[0] += count;
+            amounts.merge(key, amount, BigDecimal::add);
+        }
+
+        // After the other synchronizations, and after the expense rows are flushed (and locked)
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            summaryRepository.flush();
+            for (Map.Entry<RowKey, long[]> entry : counts.entrySet()) {
+                long count = entry.getValue()[0];
+                BigDecimal amount = amounts.get(entry.getKey());
+                if (count != 0 || amount.signum() != 0) {
+                    applyDelta(entry.getKey(), count, amount);
+                }
+            }
+        }
+    }
+
+    private BigDecimal baseAmount(Expense expense) {
+        if (expense.getBaseCurrencyAmount() != null) {
+            return expense.getBaseCurrencyAmount();
+        }
+        return expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO;
+    }
+
+    private ExpenseTotals fold(List<ExpenseSummary> summaries) {
+        long count = 0, pendingCount = 0, approvedCount = 0;
+        BigDecimal total = BigDecimal.ZERO, pendingTotal = BigDecimal.ZERO, approvedTotal = BigDecimal.ZERO;
+        for (ExpenseSummary summary : summaries) {
+            count += summary.getExpenseCount();
+            total = total.add(summary.getTotalAmount());
+            if (summary.getStatus().isAwaitingApproval()) {
+                pendingCount += summary.getExpenseCount();
+                pendingTotal = pendingTotal.add(summary.getTotalAmount());
+            } else if (summary.getStatus().isApproved()) {
+                approvedCount += summary.getExpenseCount();
+                approvedTotal = approvedTotal.add(summary.getTotalAmount());
+            }
+        }
+        return new ExpenseTotals(count, total, pendingCount, pendingTotal, approvedCount, approvedTotal);
+    }
+}
@@ -51,8 +51,9 @@ public class ExternalApiServiceImpl implements ExternalApiService {
     @Cacheable("countryInfo")
     public Map<String, Object> getCountryInfo(String countryCode) {
         Map<String, Object>[] response = restTemplate.getForObject(
-            countriesApiUrl + "?codes=" + countryCode,
-            Map[].class
+            countriesApiUrl + "?codes={code}",
+            Map[].class,
+            countryCode
         );
 
         if (response != null && response.length > 0) {
@@ -62,10 +63,10 @@ public class ExternalApiServiceImpl implements ExternalApiService {
     }
 
     @Override
-    @Cacheable(value = "exchangeRates", key = "#baseCurrency")
+    @Cacheable(value = "exchangeRateTables", key = "#baseCurrency")
     public Map<String, BigDecimal> getExchangeRates(String baseCurrency) {
-        String url = exchangeRateApiUrl + baseCurrency;
-        JsonNode response = restTemplate.getForObject(url, JsonNode.class);
+        // URI templates keep the client metrics' uri tag to one value per endpoint
+        JsonNode response = restTemplate.getForObject(exchangeRateApiUrl + "{base}", JsonNode.class, baseCurrency);
 
         Map<String, BigDecimal> rates = new HashMap<>();
         if (response != null && response.has("rates")) {
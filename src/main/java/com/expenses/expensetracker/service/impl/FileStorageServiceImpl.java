@@ -1,6 +1,15 @@
 package com.expenses.expensetracker.service.impl;
 
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.EventContext;
+import com.expenses.expensetracker.jfr.ReceiptStoreEvent;
 import com.expenses.expensetracker.service.FileStorageService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -13,18 +22,74 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
 public class FileStorageServiceImpl implements FileStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileStorageServiceImpl.class);
+
     @Value("${app.file.upload-dir:uploads/receipts}")
     private String uploadDir;
 
     @Value("${app.file.base-url:http://localhost:8080/files}")
     private String baseUrl;
 
+    // Bytes and files in the upload directory, counted at startup and kept current by store/delete
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong storedFiles = new AtomicLong();
+    private final DistributionSummary receiptSizes;
+
+    public FileStorageServiceImpl(MeterRegistry meterRegistry) {
+        Gauge.builder("expense.receipts.stored.bytes", storedBytes, AtomicLong::get)
+            .description("Bytes of receipts in the upload directory")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("expense.receipts.stored.files", storedFiles, AtomicLong::get)
+            .description("Receipts in the upload directory")
+            .register(meterRegistry);
+        this.receiptSizes = DistributionSummary.builder("expense.receipts.size")
+            .description("Size of each stored receipt")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void countStoredReceipts() {
+        Path uploadPath = Paths.get(uploadDir);
+        if (!Files.isDirectory(uploadPath)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(uploadPath)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                storedBytes.addAndGet(sizeOf(file));
+                storedFiles.incrementAndGet();
+            });
+        } catch (IOException e) {
+            log.warn("Could not size the upload directory {}: {}", uploadPath, e.getMessage());
+        }
+    }
+
     @Override
     public String storeFile(String fileName, byte[] fileData) throws IOException {
+        ReceiptStoreEvent event = new ReceiptStoreEvent();
+        event.fileName = fileName;
+        event.bytes = fileData.length;
+        event.expenseId = EventContext.expenseId();
+        event.companyId = EventContext.companyId();
+        event.begin();
+        try {
+            String url = writeFile(fileName, fileData);
+            event.finish(BusinessEvent.SUCCESS);
+            return url;
+        } catch (IOException | RuntimeException e) {
+            event.finish(BusinessEvent.ERROR);
+            throw e;
+        }
+    }
+
+    private String writeFile(String fileName, byte[] fileData) throws IOException {
         // Create upload directory if it doesn't exist
         Path uploadPath = Paths.get(uploadDir);
         if (!Files.exists(uploadPath)) {
@@ -39,7 +104,13 @@ public class FileStorageServiceImpl implements FileStorageService {
 
         // Store the file
         Path targetLocation = uploadPath.resolve(cleanFileName);
+        long replaced = Files.exists(targetLocation) ? sizeOf(targetLocation) : -1;
         Files.write(targetLocation, fileData);
+        storedBytes.addAndGet(fileData.length - Math.max(replaced, 0));
+        if (replaced < 0) {
+            storedFiles.incrementAndGet();
+        }
+        receiptSizes.record(fileData.length);
 
         // Return the URL to access the file
         return baseUrl + "/" + cleanFileName;
@@ -48,7 +119,11 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Override
     public void deleteFile(String fileName) throws IOException {
         Path filePath = Paths.get(uploadDir).resolve(fileName);
-        Files.deleteIfExists(filePath);
+        long size = Files.exists(filePath) ? sizeOf(filePath) : 0;
+        if (Files.deleteIfExists(filePath)) {
+            storedBytes.addAndGet(-size);
+            storedFiles.decrementAndGet();
+        }
     }
 
     @Override
@@ -65,4 +140,12 @@ public class FileStorageServiceImpl implements FileStorageService {
 
         return String.format("receipt_expense_%d_%s_%s%s", expenseId, timestamp, uniqueId, originalExtension);
     }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
 }
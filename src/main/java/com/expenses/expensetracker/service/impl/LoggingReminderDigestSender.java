@@ -0,0 +1,20 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ReminderDigest;
+import com.expenses.expensetracker.service.ReminderDigestSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+// Default delivery until a mail transport is configured: one log line per digest
+@Service
+public class LoggingReminderDigestSender implements ReminderDigestSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderDigestSender.class);
+
+    @Override
+    public void send(ReminderDigest digest) {
+        log.info("Reminder for {} <{}>: {} expense(s) awaiting approval, oldest submitted {}",
+            digest.getApproverName(), digest.getApproverEmail(), digest.getPendingCount(), digest.getOldestSubmittedAt());
+    }
+}
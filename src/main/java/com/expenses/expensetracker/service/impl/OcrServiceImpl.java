@@ -1,6 +1,9 @@
 package com.expenses.expensetracker.service.impl;
 
 import com.expenses.expensetracker.dto.ExpenseOcrResult;
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.EventContext;
+import com.expenses.expensetracker.jfr.OcrReceiptEvent;
 import com.expenses.expensetracker.service.OcrService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -29,6 +32,17 @@ public class OcrServiceImpl implements OcrService {
 
     @Override
     public ExpenseOcrResult processReceipt(byte[] receiptImage) {
+        OcrReceiptEvent event = new OcrReceiptEvent();
+        event.receiptBytes = receiptImage.length;
+        event.expenseId = EventContext.expenseId();
+        event.companyId = EventContext.companyId();
+        event.begin();
+        ExpenseOcrResult result = callOcrApi(receiptImage);
+        event.finish(result.isSuccess() ? BusinessEvent.SUCCESS : BusinessEvent.ERROR);
+        return result;
+    }
+
+    private ExpenseOcrResult callOcrApi(byte[] receiptImage) {
         try {
             // Prepare headers with API key
             HttpHeaders headers = new HttpHeaders();
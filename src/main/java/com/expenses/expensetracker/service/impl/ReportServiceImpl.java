@@ -0,0 +1,44 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ExpenseReport;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.service.ReportService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ReportServiceImpl implements ReportService {
+
+    private static final int TOP_SUBMITTERS = 20;
+
+    // Not spend: drafts were never submitted and rejected expenses were refused. They still appear in the
+    // status breakdown
+    private static final List<ExpenseStatus> NOT_SPENT = List.of(ExpenseStatus.DRAFT, ExpenseStatus.REJECTED);
+
+    private final ExpenseRepository expenseRepository;
+
+    public ReportServiceImpl(ExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    @Override
+    public ExpenseReport buildReport(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid report date range");
+        }
+
+        return new ExpenseReport(
+            from,
+            to,
+            expenseRepository.sumByCompany(from, to, NOT_SPENT),
+            expenseRepository.sumByCategory(from, to, NOT_SPENT),
+            expenseRepository.sumByStatus(from, to),
+            expenseRepository.sumBySubmitter(from, to, NOT_SPENT, PageRequest.of(0, TOP_SUBMITTERS)),
+            expenseRepository.sumByMonth(from, to, NOT_SPENT));
+    }
+}
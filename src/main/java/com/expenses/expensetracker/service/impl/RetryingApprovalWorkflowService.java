@@ -0,0 +1,255 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.BulkApprovalRequest;
+import com.expenses.expensetracker.dto.BulkApprovalResult;
+import com.expenses.expensetracker.dto.ExpenseListRow;
+import com.expenses.expensetracker.dto.KeysetPage;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.jfr.BusinessEvent;
+import com.expenses.expensetracker.jfr.EventContext;
+import com.expenses.expensetracker.jfr.WorkflowTransitionEvent;
+import com.expenses.expensetracker.service.ApprovalWorkflowService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * The workflow service callers get: every state-changing call runs in its own transaction on the
+ * versioned Expense/ApprovalStep rows and is re-run from a fresh read when it loses a write conflict.
+ * Transitions are idempotent, so a re-run either applies the action to the new state, finds it already
+ * applied, or fails with the reason the new state no longer allows it. Reads go straight through.
+ * Transitions are timed as expense.workflow.transitions; lost write conflicts count as expense.workflow.conflicts.
+ * Each attempt is also a WorkflowTransitionEvent for flight recordings.
+ */
+@Service
+@Primary
+public class RetryingApprovalWorkflowService implements ApprovalWorkflowService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingApprovalWorkflowService.class);
+
+    public static final String CONFLICT_MESSAGE =
+        "This expense was changed by someone else at the same time. Reload it and try again.";
+
+    static final String TRANSITION_TIMER = "expense.workflow.transitions";
+    static final String CONFLICT_COUNTER = "expense.workflow.conflicts";
+
+    private final ApprovalWorkflowServiceImpl delegate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public RetryingApprovalWorkflowService(ApprovalWorkflowServiceImpl delegate,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${expense.workflow.conflict-attempts:3}") int maxAttempts) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Override
+    public void initiateWorkflow(Long expenseId) {
+        run("initiate", expenseId, () -> delegate.initiateWorkflow(expenseId));
+    }
+
+    @Override
+    public void initiateManagerExpenseWorkflow(Long expenseId) {
+        run("initiate-manager", expenseId, () -> delegate.initiateManagerExpenseWorkflow(expenseId));
+    }
+
+    @Override
+    public void processManagerApproval(Long expenseId, Long managerId, String comments) {
+        run("manager-approval", expenseId, () -> delegate.processManagerApproval(expenseId, managerId, comments));
+    }
+
+    @Override
+    public void processFinanceApproval(Long expenseId, Long financeId, String comments) {
+        run("finance-approval", expenseId, () -> delegate.processFinanceApproval(expenseId, financeId, comments));
+    }
+
+    @Override
+    public void processDirectorApproval(Long expenseId, Long directorId, String comments) {
+        run("director-approval", expenseId, () -> delegate.processDirectorApproval(expenseId, directorId, comments));
+    }
+
+    @Override
+    public void rejectExpense(Long expenseId, Long approverId, String reason) {
+        run("reject", expenseId, () -> delegate.rejectExpense(expenseId, approverId, reason));
+    }
+
+    @Override
+    public boolean processCFOApproval(Long expenseId, Long cfoId, String comments) {
+        return call("cfo-approval", expenseId, () -> delegate.processCFOApproval(expenseId, cfoId, comments));
+    }
+
+    @Override
+    public List<BulkApprovalResult> processBulkAction(List<Long> expenseIds, Long approverId,
+                                                      BulkApprovalRequest.Action action, String comments) {
+        return call("bulk", null, () -> delegate.processBulkAction(expenseIds, approverId, action, comments));
+    }
+
+    @Override
+    public void processAdminOverride(Long expenseId, Long adminId, String comments) {
+        run("admin-override", expenseId, () -> delegate.processAdminOverride(expenseId, adminId, comments));
+    }
+
+    @Override
+    public void escalateExpense(Long expenseId, Long managerId, String escalationReason) {
+        run("escalate", expenseId, () -> delegate.escalateExpense(expenseId, managerId, escalationReason));
+    }
+
+    @Override
+    public int escalateOverdue(Collection<Long> expenseIds) {
+        return call("escalate-overdue", null, () -> delegate.escalateOverdue(expenseIds));
+    }
+
+    @Override
+    public boolean checkPercentageApproval(Long expenseId) {
+        return delegate.checkPercentageApproval(expenseId);
+    }
+
+    @Override
+    public List<Expense> getPendingApprovalsForUser(Long approverId) {
+        return delegate.getPendingApprovalsForUser(approverId);
+    }
+
+    @Override
+    public List<Expense> getTeamExpenses(Long managerId) {
+        return delegate.getTeamExpenses(managerId);
+    }
+
+    @Override
+    public int calculateApprovalPercentage(Long expenseId) {
+        return delegate.calculateApprovalPercentage(expenseId);
+    }
+
+    @Override
+    public boolean isApprovalComplete(Long expenseId) {
+        return delegate.isApprovalComplete(expenseId);
+    }
+
+    @Override
+    public List<Expense> getAllPendingApprovals() {
+        return delegate.getAllPendingApprovals();
+    }
+
+    @Override
+    public long countPendingApprovalsForUser(Long approverId) {
+        return delegate.countPendingApprovalsForUser(approverId);
+    }
+
+    @Override
+    public BigDecimal getPendingApprovalAmountForUser(Long approverId) {
+        return delegate.getPendingApprovalAmountForUser(approverId);
+    }
+
+    @Override
+    public KeysetPage<ExpenseListRow> getPendingApprovalPage(Long approverId, LocalDateTime afterSubmittedAt,
+                                                             Long afterId, int size) {
+        return delegate.getPendingApprovalPage(approverId, afterSubmittedAt, afterId, size);
+    }
+
+    private void run(String transition, Long expenseId, Runnable action) {
+        call(transition, expenseId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Timed per transition and outcome: success, refused (the state does not allow it), conflict (lost
+    // every attempt to a concurrent change) or error
+    private <T> T call(String transition, Long expenseId, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = attempt(transition, expenseId, action);
+            outcome = "success";
+            return result;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            outcome = CONFLICT_MESSAGE.equals(e.getMessage()) ? "conflict" : "refused";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(TRANSITION_TIMER, "transition", transition, "outcome", outcome));
+        }
+    }
+
+    private <T> T attempt(String transition, Long expenseId, Supplier<T> action) {
+        // Inside a caller's transaction the conflict can only surface at the caller's commit; nothing to retry
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return recorded(transition, expenseId, 1, action);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return recorded(transition, expenseId, attempt, action);
+            } catch (ConcurrencyFailureException e) {
+                meterRegistry.counter(CONFLICT_COUNTER, "transition", transition).increment();
+                if (attempt >= maxAttempts) {
+                    log.info("Workflow action still conflicting after {} attempts: {}", attempt, e.getMessage());
+                    throw new IllegalStateException(CONFLICT_MESSAGE, e);
+                }
+                backOff(attempt);
+            } catch (IllegalStateException e) {
+                // Only a re-run can land here because of someone else's change; say so rather than just what failed
+                if (attempt > 1) {
+                    throw new IllegalStateException("This expense was changed by someone else: " + e.getMessage(), e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    // One attempt as a flight recorder event, covering the delegate's transaction and commit. Nothing is
+    // queried here: the finally block runs after the transaction, where a lookup would add its own latency,
+    // so the company comes from the delegate through the event context when it loads the expense
+    private <T> T recorded(String transition, Long expenseId, int attempt, Supplier<T> action) {
+        WorkflowTransitionEvent event = new WorkflowTransitionEvent();
+        EventContext.Scope context = EventContext.open(expenseId, null);
+        event.begin();
+        String outcome = BusinessEvent.ERROR;
+        try {
+            T result = action.get();
+            outcome = BusinessEvent.SUCCESS;
+            return result;
+        } catch (ConcurrencyFailureException e) {
+            outcome = "conflict";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = BusinessEvent.outcomeOf(e);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.transition = transition;
+                event.attempt = attempt;
+                if (expenseId != null) {
+                    event.expenseId = expenseId;
+                }
+                event.companyId = EventContext.companyId();
+                event.outcome = outcome;
+                event.commit();
+            }
+            context.close();
+        }
+    }
+
+    // Short randomized pause so the conflicting transactions do not collide again in lockstep
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 25) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(CONFLICT_MESSAGE, e);
+        }
+    }
+}
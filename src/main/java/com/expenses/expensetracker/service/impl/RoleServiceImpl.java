@@ -1,9 +1,11 @@
 package com.expenses.expensetracker.service.impl;
 
 import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.event.ApproversChangedEvent;
 import com.expenses.expensetracker.repository.RoleRepository;
 import com.expenses.expensetracker.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -16,6 +18,10 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    // The approver directory is cached per company; it is cleared once the change commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Role createRole(String name, boolean canCreateEmployees, boolean canManageRoles,
                          boolean canSubmitExpense, boolean canApproveExpenses) {
@@ -89,12 +95,15 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     public Role updateRole(Role role) {
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
+        return saved;
     }
 
     @Override
     public void deleteRole(Long roleId) {
         roleRepository.deleteById(roleId);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
     }
 
     @Override
@@ -0,0 +1,61 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.entity.SchedulerLease;
+import com.expenses.expensetracker.repository.SchedulerLeaseRepository;
+import com.expenses.expensetracker.service.SchedulerLeaseService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // pid@host plus a random suffix, so two instances on one host never share an identity
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public SchedulerLeaseServiceImpl(SchedulerLeaseRepository leaseRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Each attempt is its own short transaction; the insert for a first-ever lease runs separately so a
+    // node that loses the insert race just sees a constraint violation and backs off
+    @Override
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status ->
+            leaseRepository.tryAcquire(name, owner, now.plus(ttl), now));
+        if (updated != null && updated == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false;
+        }
+
+        SchedulerLease lease = new SchedulerLease();
+        lease.setName(name);
+        lease.setOwner(owner);
+        lease.setLeaseUntil(now.plus(ttl));
+        try {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.saveAndFlush(lease));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+            leaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
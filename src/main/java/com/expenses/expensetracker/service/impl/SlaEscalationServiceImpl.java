@@ -0,0 +1,200 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.EscalationCandidate;
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.repository.CompanyRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.service.ApprovalWorkflowService;
+import com.expenses.expensetracker.service.SchedulerLeaseService;
+import com.expenses.expensetracker.service.SlaEscalationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalates expenses whose current manager/finance step has been pending longer than the company's SLA.
+ *
+ * Deadlines (lastActionAt + SLA) are held in a DelayQueue. Each pass loads only the deadlines that fall
+ * into the next slice of a short look-ahead horizon, so the table is never polled as a whole; expired
+ * timers are drained and escalated in batches. Nothing but the lease lives outside the expense rows:
+ * after a restart or a change of leader the queue is rebuilt from lastActionAt, starting with whatever
+ * is already overdue. One node at a time runs the engine, holding the scheduler lease, and every batch
+ * re-checks its expenses under row locks.
+ */
+@Service
+public class SlaEscalationServiceImpl implements SlaEscalationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaEscalationServiceImpl.class);
+
+    static final String LEASE_NAME = "sla-escalation";
+
+    private static final List<ExpenseStatus> ESCALATABLE_STATUSES = List.of(
+        ExpenseStatus.PENDING_MANAGER,
+        ExpenseStatus.PENDING_FINANCE
+    );
+    private static final LocalDateTime CLOCK_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    // An expense whose step starts after a slice was loaded is only picked up by a later slice if its
+    // deadline lies beyond the loaded horizon, which holds while the horizon is shorter than the
+    // smallest SLA (one hour)
+    private static final long MAX_HORIZON_MINUTES = 30;
+
+    private final ExpenseRepository expenseRepository;
+    private final CompanyRepository companyRepository;
+    private final ApprovalWorkflowService workflowService;
+    private final SchedulerLeaseService leaseService;
+    private final Duration horizon;
+    private final Duration leaseTtl;
+    private final Duration resyncInterval;
+    private final int batchSize;
+    private final int loadChunkSize;
+
+    private final DelayQueue<EscalationTimer> queue = new DelayQueue<>();
+    private final Set<Long> queuedIds = ConcurrentHashMap.newKeySet();
+
+    // Deadlines before this are in the queue (or already fired); null until loaded in this leadership term
+    private LocalDateTime loadedUntil;
+    private LocalDateTime resyncAt;
+
+    public SlaEscalationServiceImpl(ExpenseRepository expenseRepository,
+                                    CompanyRepository companyRepository,
+                                    ApprovalWorkflowService workflowService,
+                                    SchedulerLeaseService leaseService,
+                                    @Value("${expense.escalation.horizon-minutes:15}") long horizonMinutes,
+                                    @Value("${expense.escalation.lease-seconds:120}") long leaseSeconds,
+                                    @Value("${expense.escalation.resync-minutes:60}") long resyncMinutes,
+                                    @Value("${expense.escalation.batch-size:100}") int batchSize,
+                                    @Value("${expense.escalation.load-chunk-size:1000}") int loadChunkSize) {
+        this.expenseRepository = expenseRepository;
+        this.companyRepository = companyRepository;
+        this.workflowService = workflowService;
+        this.leaseService = leaseService;
+        this.horizon = Duration.ofMinutes(Math.max(1, Math.min(horizonMinutes, MAX_HORIZON_MINUTES)));
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+        this.resyncInterval = Duration.ofMinutes(resyncMinutes);
+        this.batchSize = Math.max(1, Math.min(batchSize, 1000));
+        this.loadChunkSize = Math.max(1, loadChunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${expense.escalation.tick-ms:30000}")
+    public void tick() {
+        runDueEscalations();
+    }
+
+    @Override
+    public synchronized int runDueEscalations() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            if (loadedUntil != null) {
+                log.info("SLA escalation lease lost; dropping {} queued timers", queue.size());
+                reset();
+            }
+            return 0;
+        }
+
+        // A periodic rebuild picks up SLA edits and anything a failed batch left behind
+        LocalDateTime now = LocalDateTime.now();
+        if (loadedUntil == null || now.isAfter(resyncAt)) {
+            reset();
+            resyncAt = now.plus(resyncInterval);
+        }
+        LocalDateTime horizonEnd = now.plus(horizon);
+        int loaded = load(loadedUntil, horizonEnd);
+        loadedUntil = horizonEnd;
+
+        // A long drain outlives the lease unless it is renewed; once it is lost the new leader owns the queue
+        int escalated = 0;
+        List<EscalationTimer> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            List<Long> ids = batch.stream().map(EscalationTimer::expenseId).toList();
+            ids.forEach(queuedIds::remove);
+            batch.clear();
+            try {
+                escalated += workflowService.escalateOverdue(ids);
+            } catch (RuntimeException e) {
+                log.warn("SLA escalation batch of {} expenses failed; retried at the next resync: {}",
+                    ids.size(), e.getMessage());
+            }
+            if (!queue.isEmpty() && !leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                log.info("SLA escalation lease lost mid-drain; dropping {} queued timers", queue.size());
+                reset();
+                return escalated;
+            }
+        }
+        if (loaded > 0 || escalated > 0) {
+            log.info("SLA escalation: {} timers loaded, {} expenses escalated, {} queued", loaded, escalated, queue.size());
+        }
+        return escalated;
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        leaseService.release(LEASE_NAME);
+    }
+
+    private synchronized void reset() {
+        queue.clear();
+        queuedIds.clear();
+        loadedUntil = null;
+    }
+
+    // Queues every deadline in [from, to); a null from means everything already overdue as well
+    private int load(LocalDateTime from, LocalDateTime to) {
+        int loaded = 0;
+        for (Company company : companyRepository.findWithEscalationSla()) {
+            Duration sla = Duration.ofHours(company.getEscalationSlaHours());
+            LocalDateTime fromAt = from != null ? from.minus(sla) : CLOCK_START;
+            LocalDateTime toAt = to.minus(sla);
+
+            LocalDateTime cursorAt = CLOCK_START;
+            Long cursorId = 0L;
+            while (true) {
+                List<EscalationCandidate> chunk = expenseRepository.findEscalationCandidates(company.getId(),
+                    ESCALATABLE_STATUSES, fromAt, toAt, cursorAt, cursorId, PageRequest.of(0, loadChunkSize));
+                for (EscalationCandidate candidate : chunk) {
+                    if (queuedIds.add(candidate.getExpenseId())) {
+                        queue.add(new EscalationTimer(candidate.getExpenseId(), candidate.getLastActionAt().plus(sla)));
+                        loaded++;
+                    }
+                }
+                if (chunk.size() < loadChunkSize) {
+                    break;
+                }
+                EscalationCandidate last = chunk.get(chunk.size() - 1);
+                cursorAt = last.getLastActionAt();
+                cursorId = last.getExpenseId();
+            }
+        }
+        return loaded;
+    }
+
+    private record EscalationTimer(Long expenseId, LocalDateTime deadline) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), deadline));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return deadline.compareTo(((EscalationTimer) other).deadline);
+        }
+    }
+}
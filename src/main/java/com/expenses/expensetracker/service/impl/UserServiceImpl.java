@@ -2,10 +2,12 @@ package com.expenses.expensetracker.service.impl;
 
 import com.expenses.expensetracker.entity.User;
 import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.event.ApproversChangedEvent;
 import com.expenses.expensetracker.repository.UserRepository;
 import com.expenses.expensetracker.repository.RoleRepository;
 import com.expenses.expensetracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -21,12 +23,18 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    // The approver directory is cached per company; it is cleared once the change commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public User createUser(User user) {
         if (existsByUsername(user.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
+        return saved;
     }
 
     @Override
@@ -39,6 +47,7 @@ public class UserServiceImpl implements UserService {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
     }
 
     @Override
@@ -75,17 +84,20 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<User> findAll() {
-        return userRepository.findAll();
+        return userRepository.findAllWithDetails();
     }
 
     @Override
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
+        return saved;
     }
 
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new ApproversChangedEvent());
     }
 
     @Override
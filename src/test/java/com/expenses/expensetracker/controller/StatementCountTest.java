@@ -0,0 +1,233 @@
+package com.expenses.expensetracker.controller;
+
+import com.expenses.expensetracker.entity.ApprovalStage;
+import com.expenses.expensetracker.entity.ApprovalStep;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.repository.ApprovalStepRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.repository.RoleRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.security.SecurityUserDetailsService;
+import com.expenses.expensetracker.support.ExpenseFixtures;
+import com.expenses.expensetracker.support.ExternalApiStubs;
+import com.expenses.expensetracker.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL statements each page runs, including view rendering under open-session-in-view.
+ * Every check runs the page, grows the data behind it (hundreds of rows, more approvers or users) and runs
+ * it again: the count must stay within the bound and must not grow with the data, so a lazy association
+ * touched per row fails the build instead of surfacing as a slow page in production.
+ */
+@SpringBootTest(properties = {
+    SqlStatementCounter.PROPERTY,
+    "spring.datasource.url=jdbc:h2:mem:statement-counts;MODE=Oracle;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class StatementCountTest {
+
+    private static final int ROWS = 500;
+
+    private static ExternalApiStubs stubs;
+
+    @DynamicPropertySource
+    static void externalApis(DynamicPropertyRegistry registry) throws IOException {
+        stubs = ExternalApiStubs.start();
+        stubs.register(registry);
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        stubs.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SecurityUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ApprovalStepRepository approvalStepRepository;
+
+    @Test
+    void pendingInboxIsFlatInTheNumberOfPendingExpenses() throws Exception {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        User priya = userRepository.findByUsername("priya").orElseThrow();
+        UserDetails managerLogin = userDetailsService.loadUserByUsername("manager");
+        UserDetails adminLogin = userDetailsService.loadUserByUsername("arjun");
+
+        long managerBefore = statements(get("/expenses/pending").with(user(managerLogin))).size();
+        long adminBefore = statements(get("/expenses/pending").with(user(adminLogin))).size();
+        savePending(priya, manager, ROWS);
+
+        assertFlat("/expenses/pending (manager)", 3, managerBefore, get("/expenses/pending").with(user(managerLogin)));
+        assertFlat("/expenses/pending (admin)", 3, adminBefore, get("/expenses/pending").with(user(adminLogin)));
+    }
+
+    @Test
+    void expenseListIsFlatInTheNumberOfExpenses() throws Exception {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        User rahul = userRepository.findByUsername("rahul").orElseThrow();
+        UserDetails employeeLogin = userDetailsService.loadUserByUsername("rahul");
+        UserDetails managerLogin = userDetailsService.loadUserByUsername("manager");
+        UserDetails adminLogin = userDetailsService.loadUserByUsername("arjun");
+
+        long employeeBefore = statements(get("/expenses").with(user(employeeLogin))).size();
+        long managerBefore = statements(get("/expenses").with(user(managerLogin))).size();
+        long adminBefore = statements(get("/expenses").with(user(adminLogin))).size();
+        savePending(rahul, manager, ROWS);
+
+        assertFlat("/expenses (employee)", 2, employeeBefore, get("/expenses").with(user(employeeLogin)));
+        assertFlat("/expenses (manager)", 2, managerBefore, get("/expenses").with(user(managerLogin)));
+        assertFlat("/expenses (admin)", 2, adminBefore, get("/expenses").with(user(adminLogin)));
+    }
+
+    @Test
+    void managerDashboardIsFlatInTheNumberOfPendingExpenses() throws Exception {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        User priya = userRepository.findByUsername("priya").orElseThrow();
+        UserDetails managerLogin = userDetailsService.loadUserByUsername("manager");
+
+        long before = statements(get("/dashboard").with(user(managerLogin))).size();
+        savePending(priya, manager, ROWS);
+
+        assertFlat("/dashboard (manager)", 5, before, get("/dashboard").with(user(managerLogin)));
+    }
+
+    @Test
+    void expenseViewIsFlatInTheNumberOfApprovalSteps() throws Exception {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        User admin = userRepository.findByUsername("arjun").orElseThrow();
+        User priya = userRepository.findByUsername("priya").orElseThrow();
+        List<User> approvers = saveUsers("view-approver", 4, "MANAGER", null);
+
+        // Each view resolves the submitter, their manager and a few approvers besides the viewer
+        Expense fewSteps = saveApproved(priya, List.of(manager, admin, approvers.get(0)));
+        List<User> manySteps = new ArrayList<>(List.of(manager, admin));
+        manySteps.addAll(approvers);
+        Expense moreSteps = saveApproved(priya, manySteps);
+        UserDetails managerLogin = userDetailsService.loadUserByUsername("manager");
+
+        long before = statements(get("/expenses/" + fewSteps.getId()).with(user(managerLogin))).size();
+        assertFlat("/expenses/{id} (manager)", 7, before, get("/expenses/" + moreSteps.getId()).with(user(managerLogin)));
+    }
+
+    @Test
+    void userListIsFlatInTheNumberOfUsers() throws Exception {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        UserDetails adminLogin = userDetailsService.loadUserByUsername("arjun");
+
+        long before = statements(get("/users").with(user(adminLogin))).size();
+        saveUsers("listed-employee", 60, "EMPLOYEE", manager);
+
+        assertFlat("/users (admin)", 2, before, get("/users").with(user(adminLogin)));
+    }
+
+    // Statements the request ran, after one warm-up call so first-use work (cache loads) is not counted
+    private List<String> statements(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        return SqlStatementCounter.capture(() -> mockMvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private void assertFlat(String page, int maxStatements, long before, MockHttpServletRequestBuilder request)
+            throws Exception {
+        List<String> after = statements(request);
+        String sql = String.join("\n", after);
+        assertTrue(after.size() <= maxStatements,
+            () -> page + " ran " + after.size() + " statements, at most " + maxStatements + " expected:\n" + sql);
+        assertEquals(before, after.size(),
+            () -> page + " went from " + before + " to " + after.size() + " statements as the data grew:\n" + sql);
+    }
+
+    private void savePending(User submitter, User approver, int count) {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Expense expense = expense(submitter, i);
+            expense.setStatus(ExpenseStatus.PENDING_MANAGER);
+            expense.setCurrentApprover(approver);
+            expense.setCurrentStepSequence(1);
+            expenses.add(expense);
+        }
+        expenseRepository.saveAll(expenses);
+    }
+
+    private Expense saveApproved(User submitter, List<User> approvers) {
+        Expense expense = expense(submitter, approvers.size());
+        expense.setStatus(ExpenseStatus.APPROVED);
+        expense.setCompletedAt(LocalDateTime.now());
+        List<ApprovalStep> steps = new ArrayList<>();
+        for (User approver : approvers) {
+            ApprovalStep step = new ApprovalStep();
+            step.setApprover(approver);
+            step.setStage(approver.hasRole("MANAGER") ? ApprovalStage.MANAGER : ApprovalStage.FINANCE);
+            step.setStatus(ApprovalStep.ApprovalStepStatus.APPROVED);
+            step.setComments("ok");
+            step.setActionDate(LocalDateTime.now());
+            expense.addStep(step);
+            steps.add(step);
+        }
+        Expense saved = expenseRepository.save(expense);
+        approvalStepRepository.saveAll(steps);
+        return saved;
+    }
+
+    private List<User> saveUsers(String prefix, int count, String roleName, User manager) {
+        Role role = roleRepository.findByName(roleName).orElseThrow();
+        User admin = userRepository.findByUsername("arjun").orElseThrow();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + "-" + i);
+            user.setEmail(prefix + "-" + i + "@tata.com");
+            user.setPassword("unused");
+            user.setCompany(admin.getCompany());
+            user.setManager(manager);
+            user.setRoles(Set.of(role));
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Expense expense(User submitter, int i) {
+        Expense expense = ExpenseFixtures.expense(submitter, BigDecimal.valueOf(200 + i), "Statement count " + i);
+        expense.setSubmittedAt(LocalDateTime.now().minusMinutes(i));
+        return expense;
+    }
+}
@@ -0,0 +1,350 @@
+package com.expenses.expensetracker.controller;
+
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.repository.RoleRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.support.BenchmarkReports;
+import com.expenses.expensetracker.support.ExternalApiStubs;
+import com.expenses.expensetracker.support.LatencyStats;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test for the web tier: virtual users sign in through the form login and click through the
+ * dashboard, expense list, submission (with a receipt upload), pending inbox and approve/reject, with the
+ * external APIs stubbed locally. Reports throughput, latency percentiles and error rate per endpoint,
+ * and writes them to target/benchmarks as JSON so releases can be compared.
+ * Excluded from the default build; run with
+ * {@code mvn -Pbenchmark test -Dtest=WebLoadBenchmarkTest -Dbenchmark.duration-seconds=120}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WebLoadBenchmarkTest {
+
+    private static final int MANAGERS = Integer.getInteger("benchmark.managers", 5);
+    private static final int REPORTS_PER_MANAGER = Integer.getInteger("benchmark.reports-per-manager", 7);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.duration-seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmup-seconds", 10);
+    private static final int THINK_MILLIS = Integer.getInteger("benchmark.think-millis", 100);
+    private static final int RECEIPT_BYTES = Integer.getInteger("benchmark.receipt-bytes", 50_000);
+    private static final String PASSWORD = "password123";
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern PENDING_ID = Pattern.compile("/expenses/(\\d+)/approve\"");
+    // Flash errors render as a dismissible danger alert on the list or inbox the action redirects to
+    private static final String ERROR_ALERT = "alert alert-danger alert-dismissible";
+
+    private static ExternalApiStubs stubs;
+
+    @DynamicPropertySource
+    static void externalApis(DynamicPropertyRegistry registry) throws IOException {
+        stubs = ExternalApiStubs.start();
+        stubs.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final List<String> managers = new ArrayList<>();
+    private final List<String> employees = new ArrayList<>();
+
+    @BeforeAll
+    void seedUsers() {
+        Company company = userRepository.findByUsername("arjun").orElseThrow().getCompany();
+        Role managerRole = roleRepository.findByName("MANAGER").orElseThrow();
+        Role employeeRole = roleRepository.findByName("EMPLOYEE").orElseThrow();
+        String password = passwordEncoder.encode(PASSWORD);
+
+        for (int m = 0; m < MANAGERS; m++) {
+            User manager = user("load-manager-" + m, password, company, managerRole, null);
+            managers.add(manager.getUsername());
+            for (int e = 0; e < REPORTS_PER_MANAGER; e++) {
+                employees.add(user("load-employee-" + m + "-" + e, password, company, employeeRole, manager).getUsername());
+            }
+        }
+    }
+
+    @AfterAll
+    void stopStubs() {
+        stubs.close();
+    }
+
+    @Test
+    void webTierUnderLoad() throws Exception {
+        long warmupEnds = System.nanoTime() + WARMUP_SECONDS * 1_000_000_000L;
+        long runEnds = warmupEnds + DURATION_SECONDS * 1_000_000_000L;
+
+        List<String> users = new ArrayList<>(managers);
+        users.addAll(employees);
+        ExecutorService pool = Executors.newFixedThreadPool(users.size());
+        List<Future<Map<String, LatencyStats>>> futures = new ArrayList<>();
+        for (String username : users) {
+            boolean manager = managers.contains(username);
+            futures.add(pool.submit(() -> new VirtualUser(username, warmupEnds).run(manager, runEnds)));
+        }
+        pool.shutdown();
+
+        Map<String, LatencyStats> stats = new TreeMap<>();
+        for (Future<Map<String, LatencyStats>> future : futures) {
+            future.get().forEach((endpoint, s) -> stats.computeIfAbsent(endpoint, e -> new LatencyStats()).merge(s));
+        }
+        long elapsedNanos = runEnds - warmupEnds;
+
+        File file = BenchmarkReports.write("web-load", report(users.size(), stats, elapsedNanos));
+        System.out.printf("Web load: %d virtual users for %d s -> %s%n", users.size(), DURATION_SECONDS, file);
+        stats.forEach((endpoint, s) -> System.out.printf("  %-32s %s%n", endpoint, s.summary(elapsedNanos)));
+
+        long requests = stats.values().stream().mapToLong(LatencyStats::getCount).sum();
+        long errors = stats.values().stream().mapToLong(LatencyStats::getErrors).sum();
+        assertTrue(requests > 0, "no requests completed");
+        assertTrue(errors * 100 < requests, "more than 1% of requests failed: " + errors + " of " + requests);
+    }
+
+    /**
+     * One signed-in browser session. Employees view their dashboard and expenses and submit; managers
+     * work their pending inbox, approving most and rejecting some.
+     */
+    private final class VirtualUser {
+        private final String username;
+        private final long recordFrom;
+        private final HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        private final Map<String, LatencyStats> stats = new HashMap<>();
+        private String csrf;
+
+        VirtualUser(String username, long recordFrom) {
+            this.username = username;
+            this.recordFrom = recordFrom;
+        }
+
+        Map<String, LatencyStats> run(boolean manager, long until) throws Exception {
+            login();
+            while (System.nanoTime() < until) {
+                if (manager) {
+                    managerIteration();
+                } else {
+                    employeeIteration();
+                }
+            }
+            return stats;
+        }
+
+        private void login() throws Exception {
+            csrf = token(get("GET /login", "/login"), null);
+            String form = form(Map.of("username", username, "password", PASSWORD, "_csrf", csrf));
+            HttpResponse<String> response = send("POST /login", post("/login", form), false);
+            String location = response.headers().firstValue("Location").orElse("");
+            if (!location.endsWith("/dashboard")) {
+                throw new IllegalStateException("Login failed for " + username + ": redirected to " + location);
+            }
+        }
+
+        private void employeeIteration() throws Exception {
+            get("GET /dashboard", "/dashboard");
+            think();
+            get("GET /expenses", "/expenses");
+            think();
+            csrf = token(get("GET /expenses/submit", "/expenses/submit"), csrf);
+            think();
+            submitExpense();
+            think();
+        }
+
+        private void managerIteration() throws Exception {
+            get("GET /dashboard", "/dashboard");
+            think();
+            String inbox = get("GET /expenses/pending", "/expenses/pending");
+            csrf = token(inbox, csrf);
+            Set<String> pending = new HashSet<>();
+            Matcher matcher = PENDING_ID.matcher(inbox);
+            while (matcher.find()) {
+                pending.add(matcher.group(1));
+            }
+            think();
+            for (String id : pending) {
+                if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                    String form = form(Map.of("reason", "Outside expense policy", "_csrf", csrf));
+                    send("POST /expenses/{id}/reject", post("/expenses/" + id + "/reject", form), true);
+                } else {
+                    String form = form(Map.of("comments", "Approved", "_csrf", csrf));
+                    send("POST /expenses/{id}/approve", post("/expenses/" + id + "/approve", form), true);
+                }
+                think();
+            }
+        }
+
+        private void submitExpense() throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String boundary = "----load" + random.nextLong(Long.MAX_VALUE);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            part(body, boundary, "_csrf", csrf);
+            // Below the seeded rule's range, so expenses route to the submitter's manager first
+            part(body, boundary, "amount", String.valueOf(100 + random.nextInt(800)));
+            part(body, boundary, "currency", random.nextInt(5) == 0 ? "USD" : "INR");
+            part(body, boundary, "date", LocalDate.now().minusDays(random.nextInt(30)).toString());
+            part(body, boundary, "category", "Travel");
+            part(body, boundary, "description", "Load test expense");
+            byte[] receipt = new byte[RECEIPT_BYTES];
+            random.nextBytes(receipt);
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"receipt\"; filename=\"receipt.pdf\"\r\n" +
+                             "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(receipt);
+            body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+            HttpRequest request = HttpRequest.newBuilder(uri("/expenses/submit"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+            send("POST /expenses/submit", request, true);
+        }
+
+        private String get(String endpoint, String path) throws Exception {
+            return send(endpoint, HttpRequest.newBuilder(uri(path)).GET().build(), false).body();
+        }
+
+        // Times the request, plus the redirect a browser would follow after a form post; a failed request,
+        // a bounce to the login page or an error alert after the redirect counts as an error
+        private HttpResponse<String> send(String endpoint, HttpRequest request, boolean followRedirect) throws Exception {
+            long started = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            String location = response.headers().firstValue("Location").orElse("");
+            boolean ok = response.statusCode() < 400 && !location.contains("/login?error")
+                && !(location.endsWith("/login") && !endpoint.equals("POST /login"));
+            if (ok && followRedirect && response.statusCode() / 100 == 3) {
+                response = client.send(HttpRequest.newBuilder(URI.create(location).isAbsolute()
+                    ? URI.create(location) : uri(location)).GET().build(), HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() < 400 && !response.body().contains(ERROR_ALERT);
+            }
+            long nanos = System.nanoTime() - started;
+            if (started >= recordFrom) {
+                stats.computeIfAbsent(endpoint, e -> new LatencyStats()).record(nanos, ok);
+            }
+            return response;
+        }
+
+        private HttpRequest post(String path, String form) {
+            return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        }
+
+        private void think() throws InterruptedException {
+            if (THINK_MILLIS > 0) {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(THINK_MILLIS));
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // Any token rendered into the session's pages is valid; keep the current one when a page has no form
+    private static String token(String page, String current) {
+        Matcher matcher = CSRF.matcher(page);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        if (current == null) {
+            throw new IllegalStateException("No CSRF token on page");
+        }
+        return current;
+    }
+
+    private static String form(Map<String, String> fields) {
+        StringBuilder form = new StringBuilder();
+        fields.forEach((name, value) -> {
+            if (!form.isEmpty()) {
+                form.append('&');
+            }
+            form.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+        return form.toString();
+    }
+
+    private static void part(ByteArrayOutputStream body, String boundary, String name, String value) {
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" +
+                         value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User user(String username, String password, Company company, Role role, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@load.local");
+        user.setPassword(password);
+        user.setCompany(company);
+        user.setRoles(new HashSet<>(Set.of(role)));
+        user.setManager(manager);
+        return userRepository.save(user);
+    }
+
+    private Map<String, Object> report(int virtualUsers, Map<String, LatencyStats> stats, long elapsedNanos) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("benchmark", "web-load");
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("virtualUsers", virtualUsers);
+        result.put("durationSeconds", DURATION_SECONDS);
+        result.put("warmupSeconds", WARMUP_SECONDS);
+        result.put("thinkMillis", THINK_MILLIS);
+
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        stats.forEach((endpoint, s) -> byEndpoint.put(endpoint, s.toMap(elapsedNanos)));
+        result.put("byEndpoint", byEndpoint);
+        return result;
+    }
+}
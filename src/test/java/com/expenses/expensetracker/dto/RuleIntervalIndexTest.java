@@ -0,0 +1,123 @@
+package com.expenses.expensetracker.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Band lookup and the overlap/gap report, over bands given in precedence order as ApprovalPlan holds them.
+ */
+class RuleIntervalIndexTest {
+
+    @Test
+    void noBandsMatchNothing() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of());
+
+        assertEquals(-1, index.find(amount("0")));
+        assertEquals(-1, index.find(amount("1000")));
+        assertTrue(index.getIssues().isEmpty());
+    }
+
+    @Test
+    void boundsAreInclusiveAndAmountsOutsideAllBandsMatchNothing() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "0", "999.99"),
+            band(2L, "1000", "4999.99")));
+
+        assertEquals(0, index.find(amount("0")));
+        assertEquals(0, index.find(amount("500")));
+        assertEquals(0, index.find(amount("999.99")));
+        assertEquals(1, index.find(amount("1000")));
+        assertEquals(1, index.find(amount("4999.99")));
+        assertEquals(-1, index.find(amount("-1")));
+        assertEquals(-1, index.find(amount("5000")));
+        // The open ends below and above all rules are expected, but the sliver between two bands is not
+        assertEquals(-1, index.find(amount("999.995")));
+        assertEquals(List.of("No rule covers (999.99, 1000)"), index.getIssues());
+    }
+
+    @Test
+    void gapBetweenBandsIsReportedAndMatchesNothing() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "0", "1000"),
+            band(2L, "2000", "5000")));
+
+        assertEquals(-1, index.find(amount("1500")));
+        assertEquals(0, index.find(amount("1000")));
+        assertEquals(1, index.find(amount("2000")));
+        assertEquals(List.of("No rule covers (1000, 2000)"), index.getIssues());
+    }
+
+    @Test
+    void bandsSharingOnlyABoundOverlapOnThatPoint() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "0", "1000"),
+            band(2L, "1000", "5000")));
+
+        assertEquals(0, index.find(amount("1000")));
+        assertEquals(1, index.find(amount("1000.01")));
+        assertEquals(List.of("Rules [1, 2] overlap on [1000, 1000]; rule 1 applies"), index.getIssues());
+    }
+
+    @Test
+    void firstBandInPrecedenceOrderWinsAnOverlap() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "0", "5000"),
+            band(2L, "1000", "2000")));
+
+        assertEquals(0, index.find(amount("500")));
+        assertEquals(0, index.find(amount("1500")));
+        assertEquals(0, index.find(amount("2000")));
+        assertEquals(0, index.find(amount("4000")));
+        assertEquals(List.of("Rules [1, 2] overlap on [1000, 2000]; rule 1 applies"), index.getIssues());
+    }
+
+    @Test
+    void openMaximumCoversEveryAmountFromItsMinimum() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "0", "999.99"),
+            band(2L, "1000", null)));
+
+        assertEquals(1, index.find(amount("1000")));
+        assertEquals(1, index.find(amount("1000000000")));
+        assertEquals(-1, index.find(amount("-0.01")));
+    }
+
+    @Test
+    void openMinimumCoversEveryAmountUpToItsMaximum() {
+        // Open minimums sort last, so a bounded band overlapping one takes precedence
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(
+            band(1L, "50", "200"),
+            band(2L, null, "100")));
+
+        assertEquals(1, index.find(amount("-1000")));
+        assertEquals(1, index.find(amount("49.99")));
+        assertEquals(0, index.find(amount("50")));
+        assertEquals(0, index.find(amount("200")));
+        assertEquals(-1, index.find(amount("200.01")));
+        assertEquals(List.of("Rules [1, 2] overlap on [50, 100]; rule 1 applies"), index.getIssues());
+    }
+
+    @Test
+    void fullyOpenBandCoversEverything() {
+        RuleIntervalIndex index = new RuleIntervalIndex(List.of(band(1L, null, null)));
+
+        assertEquals(0, index.find(amount("-5")));
+        assertEquals(0, index.find(amount("0")));
+        assertEquals(0, index.find(amount("123456789.12")));
+        assertTrue(index.getIssues().isEmpty());
+    }
+
+    private static ApprovalPlan.Band band(Long ruleId, String min, String max) {
+        return new ApprovalPlan.Band(ruleId, min != null ? amount(min) : null, max != null ? amount(max) : null,
+            List.of(), null, null, false, false);
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,171 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.entity.ApprovalStep;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.ExpenseSummary;
+import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.repository.ApprovalStepRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.repository.ExpenseSummaryRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.service.impl.RetryingApprovalWorkflowService;
+import com.expenses.expensetracker.support.ExpenseFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races managers, finance approvers and admin overrides on the same expenses and checks that the
+ * optimistic locking plus retries leave every expense in a consistent state.
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ApprovalWorkflowConcurrencyTest {
+
+    private static final int EXPENSES = 40;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ApprovalWorkflowService workflowService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ApprovalStepRepository approvalStepRepository;
+
+    @Autowired
+    private ExpenseSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentActionsLeaveOnePendingStepAndConsistentCounters() throws Exception {
+        User submitter = userRepository.findByUsername("priya").orElseThrow();
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        User admin = userRepository.findByUsername("arjun").orElseThrow();
+
+        List<Long> expenseIds = new ArrayList<>();
+        for (int i = 0; i < EXPENSES; i++) {
+            expenseIds.add(submit(submitter, i));
+        }
+
+        // Below the seeded rule's range, so each expense routes manager -> finance (the admin)
+        List<Runnable> actions = new ArrayList<>();
+        for (Long id : expenseIds) {
+            actions.add(() -> workflowService.processManagerApproval(id, manager.getId(), "ok"));
+            actions.add(() -> workflowService.processManagerApproval(id, manager.getId(), "ok again"));
+            actions.add(() -> workflowService.processFinanceApproval(id, admin.getId(), "finance ok"));
+            actions.add(() -> workflowService.processAdminOverride(id, admin.getId(), "override"));
+            if (id % 4 == 0) {
+                actions.add(() -> workflowService.rejectExpense(id, manager.getId(), "not allowed"));
+            }
+        }
+        Collections.shuffle(actions, new Random(17));
+
+        // Business refusals (step already taken, expense already decided) are expected. A conflict that outlasts
+        // every retry reaches the user as an error, so it is counted apart and must not happen; anything else is a bug
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        AtomicInteger exhaustedRetries = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (Runnable action : actions) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    action.run();
+                } catch (IllegalStateException e) {
+                    if (RetryingApprovalWorkflowService.CONFLICT_MESSAGE.equals(e.getMessage())) {
+                        exhaustedRetries.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "actions did not finish");
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(0, exhaustedRetries.get(), "actions that lost every retry to a concurrent change");
+
+        for (Long id : expenseIds) {
+            assertConsistent(expenseRepository.findById(id).orElseThrow(),
+                approvalStepRepository.findByExpenseIdOrderBySequence(id));
+        }
+        assertSummaryMatches(submitter.getId());
+    }
+
+    private Long submit(User submitter, int i) {
+        Expense expense = ExpenseFixtures.expense(submitter, BigDecimal.valueOf(200 + i), "Concurrency " + i);
+        Long id = expenseService.submitExpense(expense).getId();
+        workflowService.initiateWorkflow(id);
+        return id;
+    }
+
+    private void assertConsistent(Expense expense, List<ApprovalStep> steps) {
+        List<ApprovalStep> pending = steps.stream().filter(ApprovalStep::isPending).toList();
+        String label = "expense " + expense.getId() + " (" + expense.getStatus() + ")";
+
+        if (expense.getStatus().isTerminalState()) {
+            assertTrue(pending.isEmpty(), label + " is decided but has pending steps");
+            assertTrue(steps.stream().noneMatch(ApprovalStep::isWaiting), label + " is decided but has waiting steps");
+            assertNull(expense.getCurrentApprover(), label + " is decided but has a current approver");
+        } else {
+            assertEquals(1, pending.size(), label + " must have exactly one pending step");
+            ApprovalStep current = pending.get(0);
+            assertEquals(current.getApprover().getId(), expense.getCurrentApprover().getId(), label + " current approver");
+            assertEquals(current.getSequence(), expense.getCurrentStepSequence(), label + " current step sequence");
+        }
+
+        List<ApprovalStep> planned = steps.stream()
+            .filter(step -> step.getStage() != null)
+            .filter(step -> step.getStatus() != ApprovalStep.ApprovalStepStatus.SKIPPED)
+            .toList();
+        assertEquals(planned.size(), expense.getTotalSteps(), label + " total steps");
+        assertEquals(count(planned, ApprovalStep.ApprovalStepStatus.APPROVED), expense.getApprovedSteps(), label + " approved steps");
+        assertEquals(count(planned, ApprovalStep.ApprovalStepStatus.REJECTED), expense.getRejectedSteps(), label + " rejected steps");
+        assertEquals(steps.stream().mapToInt(ApprovalStep::getSequence).max().orElse(0), expense.getMaxSequence(),
+            label + " max sequence");
+        assertEquals(steps.size(), steps.stream().map(ApprovalStep::getSequence).distinct().count(),
+            label + " has duplicate sequences");
+    }
+
+    private void assertSummaryMatches(Long submitterId) {
+        Map<ExpenseStatus, Long> actual = expenseRepository.findBySubmitterId(submitterId).stream()
+            .collect(Collectors.groupingBy(Expense::getStatus, Collectors.counting()));
+        Map<ExpenseStatus, Long> counted = summaryRepository.findBySubmitterId(submitterId).stream()
+            .collect(Collectors.groupingBy(ExpenseSummary::getStatus, Collectors.summingLong(ExpenseSummary::getExpenseCount)));
+        counted.values().removeIf(count -> count == 0);
+        assertEquals(actual, counted, "summary counters drifted from expense statuses");
+    }
+
+    private static int count(List<ApprovalStep> steps, ApprovalStep.ApprovalStepStatus status) {
+        return (int) steps.stream().filter(step -> step.getStatus() == status).count();
+    }
+}
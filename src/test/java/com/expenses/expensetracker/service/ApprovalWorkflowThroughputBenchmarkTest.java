@@ -0,0 +1,258 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.Role;
+import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.repository.RoleRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import com.expenses.expensetracker.support.BenchmarkReports;
+import com.expenses.expensetracker.support.ExpenseFixtures;
+import com.expenses.expensetracker.support.LatencyStats;
+import com.expenses.expensetracker.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mix of submissions, approvals, rejections and escalations through the workflow service from
+ * many threads and reports throughput, p50/p99 latency and SQL statements per operation.
+ * Results go to target/benchmarks as JSON so runs can be compared.
+ * Excluded from the default build; run with
+ * {@code mvn -Pbenchmark test -Dtest=ApprovalWorkflowThroughputBenchmarkTest -Dbenchmark.threads=16}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ApprovalWorkflowThroughputBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 20_000);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 2_000);
+    private static final int MANAGERS = Integer.getInteger("benchmark.managers", 20);
+    private static final int EMPLOYEES_PER_MANAGER = 10;
+
+    enum Operation {
+        INITIATE_WORKFLOW("initiateWorkflow", 35),
+        MANAGER_APPROVAL("processManagerApproval", 25),
+        FINANCE_APPROVAL("processFinanceApproval", 20),
+        REJECT("rejectExpense", 10),
+        ESCALATE("escalateExpense", 10);
+
+        final String method;
+        final int weight;
+
+        Operation(String method, int weight) {
+            this.method = method;
+            this.weight = weight;
+        }
+    }
+
+    // An expense and whoever it is waiting on
+    private record Pending(Long expenseId, Long approverId) {
+    }
+
+    @Autowired
+    private ApprovalWorkflowService workflowService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final ConcurrentLinkedQueue<Pending> awaitingManager = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Pending> awaitingFinance = new ConcurrentLinkedQueue<>();
+
+    private List<User> employees;
+    private Long financeApproverId;
+
+    @BeforeAll
+    void seedOrganisation() {
+        User admin = userRepository.findByUsername("arjun").orElseThrow();
+        financeApproverId = admin.getId();
+        Company company = admin.getCompany();
+        Role managerRole = roleRepository.findByName("MANAGER").orElseThrow();
+        Role employeeRole = roleRepository.findByName("EMPLOYEE").orElseThrow();
+
+        employees = new ArrayList<>();
+        for (int m = 0; m < MANAGERS; m++) {
+            User manager = user("bench-manager-" + m, company, new HashSet<>(Set.of(managerRole)), null);
+            for (int e = 0; e < EMPLOYEES_PER_MANAGER; e++) {
+                employees.add(user("bench-employee-" + m + "-" + e, company, new HashSet<>(Set.of(employeeRole)), manager));
+            }
+        }
+    }
+
+    @Test
+    void workflowThroughput() throws Exception {
+        run(WARMUP, null);
+
+        Map<Operation, LatencyStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new LatencyStats());
+        }
+        long started = System.nanoTime();
+        run(OPERATIONS, stats);
+        long elapsedNanos = System.nanoTime() - started;
+
+        Map<String, Object> result = report(stats, elapsedNanos);
+        File file = BenchmarkReports.write("workflow-throughput", result);
+        System.out.printf("Workflow benchmark: %,d operations on %d threads in %,d ms -> %s%n",
+            OPERATIONS, THREADS, elapsedNanos / 1_000_000, file);
+        stats.forEach((operation, s) -> System.out.printf("  %-24s %s%n", operation.method, s.summary(elapsedNanos)));
+
+        long errors = stats.values().stream().mapToLong(LatencyStats::getErrors).sum();
+        assertTrue(errors < OPERATIONS / 100, "more than 1% of operations failed: " + errors);
+    }
+
+    // Runs the operation mix; stats == null is warm-up and records nothing
+    private void run(int operations, Map<Operation, LatencyStats> stats) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(operations);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Map<Operation, LatencyStats>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                Map<Operation, LatencyStats> local = new EnumMap<>(Operation.class);
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    Operation operation = pick();
+                    long statements = SqlStatementCounter.current();
+                    long began = System.nanoTime();
+                    boolean ok = execute(operation);
+                    long nanos = System.nanoTime() - began;
+                    local.computeIfAbsent(operation, o -> new LatencyStats())
+                        .record(nanos, SqlStatementCounter.current() - statements, ok);
+                }
+                return local;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        for (Future<Map<Operation, LatencyStats>> future : futures) {
+            Map<Operation, LatencyStats> local = future.get();
+            if (stats != null) {
+                local.forEach((operation, s) -> stats.get(operation).merge(s));
+            }
+        }
+    }
+
+    // Weighted pick; an approval-side operation with nothing waiting falls back to a submission
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                boolean available = switch (operation) {
+                    case INITIATE_WORKFLOW -> true;
+                    case FINANCE_APPROVAL -> !awaitingFinance.isEmpty();
+                    default -> !awaitingManager.isEmpty();
+                };
+                return available ? operation : Operation.INITIATE_WORKFLOW;
+            }
+        }
+        return Operation.INITIATE_WORKFLOW;
+    }
+
+    private boolean execute(Operation operation) {
+        Pending pending = null;
+        try {
+            switch (operation) {
+                case INITIATE_WORKFLOW -> {
+                    User submitter = employees.get(ThreadLocalRandom.current().nextInt(employees.size()));
+                    Long id = submit(submitter);
+                    workflowService.initiateWorkflow(id);
+                    awaitingManager.add(new Pending(id, submitter.getManager().getId()));
+                }
+                case MANAGER_APPROVAL -> {
+                    if ((pending = awaitingManager.poll()) == null) return submitInstead();
+                    workflowService.processManagerApproval(pending.expenseId(), pending.approverId(), "Approved");
+                    awaitingFinance.add(new Pending(pending.expenseId(), financeApproverId));
+                }
+                case FINANCE_APPROVAL -> {
+                    if ((pending = awaitingFinance.poll()) == null) return submitInstead();
+                    workflowService.processFinanceApproval(pending.expenseId(), pending.approverId(), "Approved");
+                }
+                case REJECT -> {
+                    if ((pending = awaitingManager.poll()) == null) return submitInstead();
+                    workflowService.rejectExpense(pending.expenseId(), pending.approverId(), "Out of policy");
+                }
+                case ESCALATE -> {
+                    if ((pending = awaitingManager.poll()) == null) return submitInstead();
+                    workflowService.escalateExpense(pending.expenseId(), pending.approverId(), "Needs director sign-off");
+                }
+            }
+            return true;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Another thread emptied the queue between pick() and poll(); keep the thread busy with a submission
+    private boolean submitInstead() {
+        return execute(Operation.INITIATE_WORKFLOW);
+    }
+
+    private Long submit(User submitter) {
+        // Below the seeded rule's range: routed manager -> finance by the built-in band
+        Expense expense = ExpenseFixtures.expense(submitter,
+            BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 999)), "Benchmark expense");
+        return expenseService.submitExpense(expense).getId();
+    }
+
+    private User user(String username, Company company, Set<Role> roles, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@bench.local");
+        user.setPassword("{noop}benchmark");
+        user.setCompany(company);
+        user.setRoles(roles);
+        user.setManager(manager);
+        return userRepository.save(user);
+    }
+
+    private Map<String, Object> report(Map<Operation, LatencyStats> stats, long elapsedNanos) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("benchmark", "approval-workflow-throughput");
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("threads", THREADS);
+        result.put("operations", OPERATIONS);
+        result.put("warmupOperations", WARMUP);
+        result.put("elapsedMillis", elapsedNanos / 1_000_000);
+        result.put("throughputPerSecond", OPERATIONS * 1e9 / elapsedNanos);
+
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        stats.forEach((operation, s) -> byOperation.put(operation.method, s.toMap(elapsedNanos)));
+        result.put("byOperation", byOperation);
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.expenses.expensetracker.service;
+
+import com.expenses.expensetracker.dto.ExpenseReport;
+import com.expenses.expensetracker.dto.ReportRow;
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.entity.ExpenseStatus;
+import com.expenses.expensetracker.entity.User;
+import com.expenses.expensetracker.repository.CompanyRepository;
+import com.expenses.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times the group-by reporting queries against a large synthetic expense table.
+ * Excluded from the default build; run with {@code mvn -Pbenchmark test -Dbenchmark.rows=2000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReportServiceBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final int BATCH = 10_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private static final String[] CATEGORIES =
+        {"Travel", "Meals", "Lodging", "Supplies", "Software", "Training", "Transport", "Other"};
+    private static final ExpenseStatus[] STATUSES = {
+        ExpenseStatus.PENDING_MANAGER, ExpenseStatus.PENDING_FINANCE,
+        ExpenseStatus.APPROVED, ExpenseStatus.APPROVED, ExpenseStatus.REJECTED
+    };
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 730;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private long seededRows;
+
+    @BeforeAll
+    void seed() {
+        Company company = companyRepository.findAll().get(0);
+        List<Long> submitterIds = userRepository.findAll().stream().map(User::getId).toList();
+        seededRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses", Long.class);
+
+        Random random = new Random(42);
+        String sql = "INSERT INTO expenses (amount, currency, base_currency_amount, exchange_rate, category, " +
+                     "description, expense_date, submitter_id, company_id, status, submitted_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(99_900), 2);
+            LocalDate date = START.plusDays(random.nextInt(DAYS));
+            batch.add(new Object[] {
+                amount, company.getDefaultCurrency(), amount, BigDecimal.ONE,
+                CATEGORIES[random.nextInt(CATEGORIES.length)], "Synthetic expense " + i,
+                Date.valueOf(date), submitterIds.get(random.nextInt(submitterIds.size())), company.getId(),
+                STATUSES[random.nextInt(STATUSES.length)].name(), Timestamp.valueOf(date.atTime(9, 0))
+            });
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        seededRows += ROWS;
+        System.out.printf("Seeded %,d expenses in %,d ms%n", ROWS, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Test
+    void fullRangeReport() {
+        LocalDate from = LocalDate.of(1900, 1, 1);
+        LocalDate to = LocalDate.of(9999, 12, 31);
+
+        for (int i = 0; i < WARMUP; i++) {
+            reportService.buildReport(from, to);
+        }
+
+        long[] millis = new long[ITERATIONS];
+        ExpenseReport report = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            report = reportService.buildReport(from, to);
+            millis[i] = (System.nanoTime() - started) / 1_000_000;
+        }
+
+        Arrays.sort(millis);
+        System.out.printf("Report over %,d rows: min %d ms, median %d ms, max %d ms%n",
+            seededRows, millis[0], millis[ITERATIONS / 2], millis[ITERATIONS - 1]);
+
+        // The status breakdown covers every row; the spend groupings leave out the rejected ones
+        long byStatus = report.getByStatus().stream().mapToLong(ReportRow::getExpenseCount).sum();
+        assertEquals(seededRows, byStatus);
+        long notSpent = report.getByStatus().stream()
+            .filter(row -> row.getLabel().equals(ExpenseStatus.DRAFT.getDisplayName())
+                || row.getLabel().equals(ExpenseStatus.REJECTED.getDisplayName()))
+            .mapToLong(ReportRow::getExpenseCount)
+            .sum();
+        long byCompany = report.getByCompany().stream().mapToLong(ReportRow::getExpenseCount).sum();
+        assertEquals(seededRows - notSpent, byCompany);
+    }
+}
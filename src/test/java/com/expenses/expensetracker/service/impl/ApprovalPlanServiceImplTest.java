@@ -0,0 +1,64 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.ApprovalPlan;
+import com.expenses.expensetracker.dto.ApproverDirectory;
+import com.expenses.expensetracker.entity.ApprovalStage;
+import com.expenses.expensetracker.repository.ApprovalRuleRepository;
+import com.expenses.expensetracker.service.ApproverDirectoryService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The built-in routing used when no rule band covers an amount: every amount, at any scale, gets a
+ * finance or director step on the right side of the thresholds.
+ */
+class ApprovalPlanServiceImplTest {
+
+    private static final long COMPANY_ID = 1L;
+    private static final long FINANCE_ID = 10L;
+    private static final long DIRECTOR_ID = 20L;
+
+    private final ApprovalRuleRepository approvalRuleRepository = mock(ApprovalRuleRepository.class);
+    private final ApproverDirectoryService approverDirectoryService = mock(ApproverDirectoryService.class);
+
+    @Test
+    void directorSignsOffOnlyAboveFiftyThousand() {
+        ApprovalPlan.Band band = plan().bandFor(amount("50000"), false);
+
+        assertEquals(List.of(ApprovalStage.MANAGER, ApprovalStage.FINANCE), stages(band, "50000"));
+        assertEquals(List.of(ApprovalStage.MANAGER, ApprovalStage.FINANCE, ApprovalStage.DIRECTOR),
+            stages(band, "50000.005"));
+        assertEquals(List.of(ApprovalStage.MANAGER, ApprovalStage.FINANCE, ApprovalStage.DIRECTOR),
+            stages(band, "50000.01"));
+    }
+
+    @Test
+    void managerSubmissionsSwitchFromFinanceToDirectorWithoutAGap() {
+        ApprovalPlan.Band band = plan().bandFor(amount("25000"), true);
+
+        assertEquals(List.of(ApprovalStage.FINANCE), stages(band, "25000"));
+        assertEquals(List.of(ApprovalStage.DIRECTOR), stages(band, "25000.005"));
+        assertEquals(List.of(ApprovalStage.DIRECTOR), stages(band, "25000.01"));
+    }
+
+    private ApprovalPlan plan() {
+        when(approverDirectoryService.getDirectory(COMPANY_ID))
+            .thenReturn(new ApproverDirectory(COMPANY_ID, FINANCE_ID, DIRECTOR_ID, null));
+        when(approvalRuleRepository.findWithApproversByCompanyId(COMPANY_ID)).thenReturn(List.of());
+        return new ApprovalPlanServiceImpl(approvalRuleRepository, approverDirectoryService).rebuild(COMPANY_ID);
+    }
+
+    private static List<ApprovalStage> stages(ApprovalPlan.Band band, String amount) {
+        return band.stepsFor(amount(amount)).stream().map(ApprovalPlan.Step::getStage).toList();
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
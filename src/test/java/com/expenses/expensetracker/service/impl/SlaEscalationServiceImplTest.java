@@ -0,0 +1,159 @@
+package com.expenses.expensetracker.service.impl;
+
+import com.expenses.expensetracker.dto.EscalationCandidate;
+import com.expenses.expensetracker.entity.Company;
+import com.expenses.expensetracker.repository.CompanyRepository;
+import com.expenses.expensetracker.repository.ExpenseRepository;
+import com.expenses.expensetracker.service.ApprovalWorkflowService;
+import com.expenses.expensetracker.service.SchedulerLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The escalation engine against mocked repositories: which deadlines are loaded, how the queue drains in
+ * batches, and when it is dropped and rebuilt (lease lost, periodic resync).
+ */
+class SlaEscalationServiceImplTest {
+
+    private static final LocalDateTime CLOCK_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final long COMPANY_ID = 1L;
+
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final CompanyRepository companyRepository = mock(CompanyRepository.class);
+    private final ApprovalWorkflowService workflowService = mock(ApprovalWorkflowService.class);
+    private final SchedulerLeaseService leaseService = mock(SchedulerLeaseService.class);
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setId(COMPANY_ID);
+        company.setEscalationSlaHours(1);
+        when(companyRepository.findWithEscalationSla()).thenReturn(List.of(company));
+        when(workflowService.escalateOverdue(any())).thenAnswer(call -> ((Collection<?>) call.getArgument(0)).size());
+    }
+
+    @Test
+    void escalatesOverdueExpensesInBatchesAndKeepsUpcomingDeadlinesQueued() {
+        when(leaseService.tryAcquire(eq(SlaEscalationServiceImpl.LEASE_NAME), any())).thenReturn(true);
+        LocalDateTime now = LocalDateTime.now();
+        when(candidates()).thenReturn(List.of(
+            candidate(1L, now.minusHours(3)),
+            candidate(2L, now.minusHours(2)),
+            candidate(3L, now.minusMinutes(90)),
+            // One-hour SLA: due in ten minutes, inside the look-ahead horizon
+            candidate(4L, now.minusMinutes(50))
+        ), List.of());
+        SlaEscalationServiceImpl service = service(2, 60);
+
+        assertEquals(3, service.runDueEscalations());
+        verify(workflowService).escalateOverdue(List.of(1L, 2L));
+        verify(workflowService).escalateOverdue(List.of(3L));
+        assertEquals(1, service.getQueuedCount());
+
+        // The next pass loads only the slice past the previous horizon and escalates nothing new
+        assertEquals(0, service.runDueEscalations());
+        verify(workflowService, times(2)).escalateOverdue(any());
+        assertEquals(1, service.getQueuedCount());
+
+        List<LocalDateTime> fromAts = loadedFrom(2);
+        assertEquals(CLOCK_START, fromAts.get(0));
+        assertTrue(fromAts.get(1).isAfter(now.minusHours(1)),
+            "second pass must continue from the loaded horizon, not reload everything: " + fromAts.get(1));
+    }
+
+    @Test
+    void dropsTheQueueWhenTheLeaseIsLostBetweenBatches() {
+        // Acquired for the pass, renewed after the first batch, lost after the second
+        when(leaseService.tryAcquire(eq(SlaEscalationServiceImpl.LEASE_NAME), any())).thenReturn(true, true, false);
+        LocalDateTime overdue = LocalDateTime.now().minusHours(2);
+        when(candidates()).thenReturn(List.of(
+            candidate(1L, overdue.minusMinutes(3)),
+            candidate(2L, overdue.minusMinutes(2)),
+            candidate(3L, overdue.minusMinutes(1)),
+            candidate(4L, overdue)
+        ));
+        SlaEscalationServiceImpl service = service(1, 60);
+
+        assertEquals(2, service.runDueEscalations());
+        verify(workflowService).escalateOverdue(List.of(1L));
+        verify(workflowService).escalateOverdue(List.of(2L));
+        verify(workflowService, never()).escalateOverdue(List.of(3L));
+        assertEquals(0, service.getQueuedCount());
+    }
+
+    @Test
+    void rebuildsTheQueueFromTheStartAfterRegainingTheLease() {
+        when(leaseService.tryAcquire(eq(SlaEscalationServiceImpl.LEASE_NAME), any())).thenReturn(true, false, true);
+        LocalDateTime now = LocalDateTime.now();
+        when(candidates()).thenReturn(List.of(candidate(4L, now.minusMinutes(50))));
+        SlaEscalationServiceImpl service = service(10, 60);
+
+        service.runDueEscalations();
+        assertEquals(1, service.getQueuedCount());
+
+        // Another node holds the lease: its timers are not ours to keep
+        assertEquals(0, service.runDueEscalations());
+        assertEquals(0, service.getQueuedCount());
+
+        service.runDueEscalations();
+        assertEquals(1, service.getQueuedCount());
+        List<LocalDateTime> fromAts = loadedFrom(2);
+        assertEquals(CLOCK_START, fromAts.get(0));
+        assertEquals(CLOCK_START, fromAts.get(1));
+    }
+
+    @Test
+    void periodicResyncReloadsWithoutQueueingAnExpenseTwice() throws InterruptedException {
+        when(leaseService.tryAcquire(eq(SlaEscalationServiceImpl.LEASE_NAME), any())).thenReturn(true);
+        LocalDateTime now = LocalDateTime.now();
+        when(candidates()).thenReturn(List.of(candidate(4L, now.minusMinutes(50))));
+        // A zero resync interval rebuilds on every pass
+        SlaEscalationServiceImpl service = service(10, 0);
+
+        service.runDueEscalations();
+        Thread.sleep(5);
+        service.runDueEscalations();
+
+        assertEquals(1, service.getQueuedCount());
+        List<LocalDateTime> fromAts = loadedFrom(2);
+        assertEquals(CLOCK_START, fromAts.get(1));
+        verify(workflowService, never()).escalateOverdue(any());
+    }
+
+    private SlaEscalationServiceImpl service(int batchSize, long resyncMinutes) {
+        return new SlaEscalationServiceImpl(expenseRepository, companyRepository, workflowService, leaseService,
+            15, 120, resyncMinutes, batchSize, 1000);
+    }
+
+    private List<EscalationCandidate> candidates() {
+        return expenseRepository.findEscalationCandidates(eq(COMPANY_ID), anyList(), any(), any(), any(), any(), any());
+    }
+
+    // The fromAt bound of each load, in call order
+    private List<LocalDateTime> loadedFrom(int loads) {
+        ArgumentCaptor<LocalDateTime> fromAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(expenseRepository, times(loads)).findEscalationCandidates(eq(COMPANY_ID), anyList(), fromAt.capture(),
+            any(), any(), any(), any());
+        return fromAt.getAllValues();
+    }
+
+    private static EscalationCandidate candidate(Long expenseId, LocalDateTime lastActionAt) {
+        return new EscalationCandidate(expenseId, lastActionAt);
+    }
+}
@@ -0,0 +1,33 @@
+package com.expenses.expensetracker.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes benchmark results as timestamped JSON files under {@code benchmark.output} (default
+ * target/benchmarks), one file per run, so runs of a release can be compared with the last.
+ */
+public final class BenchmarkReports {
+
+    private static final String OUTPUT_DIR = System.getProperty("benchmark.output", "target/benchmarks");
+
+    private BenchmarkReports() {
+    }
+
+    public static File write(String name, Map<String, Object> result) throws IOException {
+        File dir = new File(OUTPUT_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File file = new File(dir, name + "-" + stamp + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+        return file;
+    }
+}
@@ -0,0 +1,31 @@
+package com.expenses.expensetracker.support;
+
+import com.expenses.expensetracker.entity.Expense;
+import com.expenses.expensetracker.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unsaved expenses for tests and benchmarks, in the submitter's company currency and already converted,
+ * as the expense form leaves them before submission.
+ */
+public final class ExpenseFixtures {
+
+    private ExpenseFixtures() {
+    }
+
+    public static Expense expense(User submitter, BigDecimal amount, String description) {
+        Expense expense = new Expense();
+        expense.setAmount(amount);
+        expense.setCurrency(submitter.getCompany().getDefaultCurrency());
+        expense.setBaseCurrencyAmount(amount);
+        expense.setExchangeRate(BigDecimal.ONE);
+        expense.setCategory("Travel");
+        expense.setDescription(description);
+        expense.setDate(LocalDate.now());
+        expense.setSubmitter(submitter);
+        expense.setCompany(submitter.getCompany());
+        return expense;
+    }
+}
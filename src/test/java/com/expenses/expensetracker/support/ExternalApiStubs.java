@@ -0,0 +1,96 @@
+package com.expenses.expensetracker.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-ins for the countries, exchange-rate and OCR APIs, served from an in-process HTTP server
+ * so load runs measure the application rather than third-party latency or rate limits.
+ */
+public final class ExternalApiStubs implements AutoCloseable {
+
+    private static final String COUNTRIES = """
+        [{"name":{"common":"India"},"currencies":{"INR":{"name":"Indian rupee","symbol":"₹"}}},
+         {"name":{"common":"United States"},"currencies":{"USD":{"name":"United States dollar","symbol":"$"}}},
+         {"name":{"common":"Germany"},"currencies":{"EUR":{"name":"Euro","symbol":"€"}}},
+         {"name":{"common":"United Kingdom"},"currencies":{"GBP":{"name":"British pound","symbol":"£"}}}]
+        """;
+
+    // Units per US dollar; rates for any base are derived from these
+    private static final String[][] RATES = {{"USD", "1.0"}, {"INR", "83.0"}, {"EUR", "0.92"}, {"GBP", "0.79"}};
+
+    private static final String OCR = """
+        {"text":"CAFE COFFEE DAY\\nDate: 2025-01-15\\nCappuccino 180.00\\nSandwich 220.00\\nTOTAL 400.00"}
+        """;
+
+    private final HttpServer server;
+
+    private ExternalApiStubs(HttpServer server) {
+        this.server = server;
+    }
+
+    public static ExternalApiStubs start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/countries", exchange -> respond(exchange, COUNTRIES));
+        server.createContext("/rates/", exchange -> {
+            String base = exchange.getRequestURI().getPath().substring("/rates/".length());
+            respond(exchange, rates(base));
+        });
+        server.createContext("/ocr", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            respond(exchange, OCR);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return new ExternalApiStubs(server);
+    }
+
+    // Points the application's API URLs at the stubs
+    public void register(DynamicPropertyRegistry registry) {
+        String base = "http://localhost:" + server.getAddress().getPort();
+        registry.add("expense.api.countries.url", () -> base + "/countries");
+        registry.add("expense.api.exchange.url", () -> base + "/rates/");
+        registry.add("expense.ocr.api.url", () -> base + "/ocr");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static String rates(String base) {
+        double perUsd = 0;
+        for (String[] rate : RATES) {
+            if (rate[0].equals(base)) {
+                perUsd = Double.parseDouble(rate[1]);
+            }
+        }
+        StringBuilder json = new StringBuilder("{\"base\":\"").append(base).append("\",\"rates\":{");
+        for (int i = 0; i < RATES.length && perUsd > 0; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(RATES[i][0]).append("\":").append(Double.parseDouble(RATES[i][1]) / perUsd);
+        }
+        return json.append("}}").toString();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.expenses.expensetracker.support;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies (ns), failures and optionally SQL statement counts for one benchmarked operation. Not thread
+ * safe: keep one per thread and merge them when the run ends.
+ */
+public final class LatencyStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long statements;
+    private boolean statementsTracked;
+
+    public void record(long nanos, boolean ok) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    public void record(long nanos, long sqlStatements, boolean ok) {
+        record(nanos, ok);
+        statements += sqlStatements;
+        statementsTracked = true;
+    }
+
+    public void merge(LatencyStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], true);
+        }
+        errors += other.errors;
+        statements += other.statements;
+        statementsTracked |= other.statementsTracked;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    // Result for the JSON report; throughput is over the whole run, not the operation's own busy time
+    public Map<String, Object> toMap(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("errors", errors);
+        map.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+        map.put("throughputPerSecond", count * 1e9 / elapsedNanos);
+        map.put("p50Millis", percentile(sorted, 0.50));
+        map.put("p90Millis", percentile(sorted, 0.90));
+        map.put("p99Millis", percentile(sorted, 0.99));
+        map.put("maxMillis", count == 0 ? 0.0 : sorted[count - 1] / 1e6);
+        if (statementsTracked) {
+            map.put("sqlStatementsPerOperation", count == 0 ? 0.0 : (double) statements / count);
+        }
+        return map;
+    }
+
+    public String summary(long elapsedNanos) {
+        Map<String, Object> map = toMap(elapsedNanos);
+        String line = String.format("n=%d  %.1f ops/s  p50 %.2f ms  p99 %.2f ms  errors %d",
+            count, (double) map.get("throughputPerSecond"), (double) map.get("p50Millis"),
+            (double) map.get("p99Millis"), errors);
+        return statementsTracked
+            ? line + String.format("  %.1f SQL/op", (double) map.get("sqlStatementsPerOperation"))
+            : line;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expenses.expensetracker.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} and read the count
+ * before and after the code under measurement, or {@link #capture} the statements themselves.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static final String PROPERTY =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.expenses.expensetracker.support.SqlStatementCounter";
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    // The statements the action ran on this thread, in order
+    public static List<String> capture(Action action) throws Exception {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}